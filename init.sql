@@ -23,6 +23,7 @@ CREATE TABLE books (
     condition VARCHAR(20) NOT NULL DEFAULT 'GOOD',
     location VARCHAR(50),
     remarks VARCHAR(1000),
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL
 );
@@ -50,12 +51,43 @@ CREATE TABLE rentals (
     due_date_time TIMESTAMP NOT NULL,
     status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
     remarks VARCHAR(1000),
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
     FOREIGN KEY (member_id) REFERENCES members(id),
     FOREIGN KEY (book_id) REFERENCES books(id)
 );
 
+-- Rentals Archive 테이블 (반납 후 오래된 대여 내역, id 는 rentals 의 값을 그대로 유지)
+-- 보관 데이터가 도서/회원 삭제를 막지 않도록 FK 는 두지 않는다
+CREATE TABLE rentals_archive (
+    id BIGINT PRIMARY KEY,
+    member_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    rental_date_time TIMESTAMP NOT NULL,
+    return_date_time TIMESTAMP,
+    due_date_time TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    remarks VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- Reservations 테이블 (대여중 도서 예약 대기열)
+CREATE TABLE reservations (
+    id BIGSERIAL PRIMARY KEY,
+    member_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+    offered_at TIMESTAMP,
+    claim_deadline TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (member_id) REFERENCES members(id),
+    FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE
+);
+
 -- Menus 테이블 (만화카페 먹거리/음료 메뉴)
 CREATE TABLE menus (
     id BIGSERIAL PRIMARY KEY,
@@ -86,20 +118,45 @@ CREATE TABLE orders (
     FOREIGN KEY (menu_id) REFERENCES menus(id)
 );
 
+-- Idempotency Keys 테이블 (manca.idempotency.persistent=true 일 때 재시도 요청의 응답 보관)
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(500) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INTEGER NOT NULL,
+    content_type VARCHAR(100),
+    body BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
 -- 인덱스 생성
+-- 이메일은 대소문자 구분 없이 유일
+CREATE UNIQUE INDEX idx_members_email_lower ON members(lower(email));
 CREATE INDEX idx_books_title ON books(title);
 CREATE INDEX idx_books_author ON books(author);
 CREATE INDEX idx_books_genre ON books(genre);
 CREATE INDEX idx_books_status ON books(status);
-CREATE INDEX idx_rentals_member_id ON rentals(member_id);
+-- 회원별 대여 이력 (최근 대여 순 keyset 페이지). 상태 필터와 도서 join 키까지 인덱스에서 읽는다
+CREATE INDEX idx_rentals_member_rental_date_time ON rentals(member_id, rental_date_time DESC, id DESC)
+    INCLUDE (status, book_id);
 CREATE INDEX idx_rentals_book_id ON rentals(book_id);
+CREATE INDEX idx_rentals_rental_date_time ON rentals(rental_date_time);
 CREATE INDEX idx_rentals_status ON rentals(status);
+CREATE INDEX idx_rentals_status_due_date_time ON rentals(status, due_date_time);
+-- 보관 대상 찾기용 (반납 건만)
+CREATE INDEX idx_rentals_returned_return_date_time ON rentals(return_date_time) WHERE status = 'RETURNED';
+CREATE INDEX idx_rentals_archive_member_rental_date_time ON rentals_archive(member_id, rental_date_time DESC, id DESC);
+CREATE INDEX idx_reservations_book_id_status ON reservations(book_id, status, id);
+CREATE INDEX idx_reservations_status_claim_deadline ON reservations(status, claim_deadline);
+CREATE INDEX idx_reservations_member_id ON reservations(member_id);
 CREATE INDEX idx_seats_status ON seats(status);
-CREATE INDEX idx_orders_member_id ON orders(member_id);
+CREATE INDEX idx_seats_current_member_id ON seats(current_member_id);
+CREATE INDEX idx_orders_member_id_status ON orders(member_id, status);
 CREATE INDEX idx_orders_menu_id ON orders(menu_id);
 CREATE INDEX idx_orders_status ON orders(status);
+CREATE INDEX idx_orders_order_date_time ON orders(order_date_time);
 CREATE INDEX idx_menus_category ON menus(category);
 CREATE INDEX idx_menus_is_available ON menus(is_available);
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
 
 -- Members 샘플 데이터
 INSERT INTO members (name, email, phone, created_at, updated_at) VALUES
@@ -180,6 +237,7 @@ SELECT
     COUNT(*) as total_books,
     COUNT(CASE WHEN status = 'AVAILABLE' THEN 1 END) as available_count,
     COUNT(CASE WHEN status = 'RENTED' THEN 1 END) as rented_count,
+    COUNT(CASE WHEN status = 'RESERVED' THEN 1 END) as reserved_count,
     COUNT(CASE WHEN status = 'LOST' THEN 1 END) as lost_count,
     COUNT(CASE WHEN status = 'DAMAGED' THEN 1 END) as damaged_count
 FROM books;
@@ -197,10 +255,7 @@ SELECT
     r.rental_date_time,
     r.due_date_time,
     r.status,
-    CASE
-        WHEN r.status = 'ACTIVE' AND r.due_date_time < CURRENT_TIMESTAMP THEN true
-        ELSE false
-    END as is_overdue
+    r.status = 'OVERDUE' as is_overdue
 FROM rentals r
 JOIN books b ON r.book_id = b.id
 JOIN members m ON r.member_id = m.id
@@ -222,5 +277,7 @@ COMMENT ON TABLE members IS '회원 정보';
 COMMENT ON TABLE books IS '만화책 정보';
 COMMENT ON TABLE seats IS '좌석 정보';
 COMMENT ON TABLE rentals IS '대여 정보';
+COMMENT ON TABLE rentals_archive IS '보관 대여 정보 (오래된 반납 건)';
+COMMENT ON TABLE reservations IS '예약 정보';
 COMMENT ON TABLE menus IS '메뉴 정보';
 COMMENT ON TABLE orders IS '주문 정보';
@@ -0,0 +1,181 @@
+package com.study.manca.config;
+
+import com.study.manca.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Idempotency-Key 헤더 처리
+ * 쓰기(POST) 요청에 Idempotency-Key 가 있으면 그 키로 성공한 응답을 요청 지문(메서드 + 경로 + 쿼리 + 본문의 SHA-256)과 함께 저장해 두고,
+ * 같은 요청이 다시 들어오면 컨트롤러를 거치지 않고 (books/rentals 를 건드리지 않고) 저장된 응답을 그대로 돌려준다.
+ * - 같은 키가 아직 처리 중이면 409
+ * - 같은 키를 다른 요청(경로/본문이 다름)에 쓰면 422
+ * - 실패 응답(2xx 외)은 저장하지 않으므로 같은 키로 다시 시도할 수 있다
+ * 지문을 먼저 계산해야 하므로 본문은 최대 1MB 까지만 받는다 (대량 등록처럼 큰 본문에는 키를 쓰지 않는다).
+ * 헤더가 없으면 예전과 똑같이 동작한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private final IdempotencyStore idempotencyStore;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                    HEADER + " is not supported for bodies over " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        String fingerprint = fingerprint(request, body);
+
+        IdempotencyStore.Lookup lookup = idempotencyStore.begin(key, fingerprint);
+        if (lookup.state() == IdempotencyStore.State.MISMATCH) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        if (lookup.state() == IdempotencyStore.State.COMPLETED) {
+            replay(lookup.response(), response);
+            return;
+        }
+        if (lookup.state() == IdempotencyStore.State.IN_FLIGHT) {
+            response.sendError(HttpStatus.CONFLICT.value(), "Request with this " + HEADER + " is still in progress");
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(new BufferedBodyRequest(request, body), wrapper);
+            int status = wrapper.getStatus();
+            if (status >= 200 && status < 300) {
+                // 이미 커밋된 요청이므로 저장에 실패해도 응답은 성공으로 돌려준다 (키를 풀면 재시도가 두 번 처리된다)
+                completed = true;
+                try {
+                    idempotencyStore.complete(key, fingerprint, new IdempotencyStore.StoredResponse(
+                            status, wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                } catch (RuntimeException e) {
+                    log.error("failed to store response for {} {}", HEADER, key, e);
+                }
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.abandon(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String target = request.getMethod() + " " + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString()) + "\n";
+        digest.update(target.getBytes(StandardCharsets.UTF_8));
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    // 지문 계산에 읽은 본문을 컨트롤러가 다시 읽을 수 있게 돌려준다
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
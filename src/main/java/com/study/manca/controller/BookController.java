@@ -1,19 +1,43 @@
 package com.study.manca.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.manca.dto.BookBrowseResponse;
+import com.study.manca.dto.BookImportResponse;
 import com.study.manca.dto.BookRequest;
 import com.study.manca.dto.BookResponse;
+import com.study.manca.dto.BookScanResponse;
+import com.study.manca.dto.BookStatsResponse;
 import com.study.manca.dto.BookUpdateRequest;
+import com.study.manca.dto.CursorResponse;
+import com.study.manca.service.BookFacetIndex;
+import com.study.manca.service.BookImportService;
 import com.study.manca.service.BookService;
+import com.study.manca.service.BookStatsCounters;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Tag(name = "Book", description = "Book API")
 @RestController
@@ -22,16 +46,75 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookStatsCounters bookStatsCounters;
+    private final ObjectMapper objectMapper;
 
     // 설계
-    @Operation(summary = "전체 책 조회")
+    @Operation(summary = "전체 책 조회", description = "id 순서로 limit 건씩 조회합니다. 다음 페이지는 응답의 nextCursor 를 after 로 넘깁니다.")
     @ApiResponse(responseCode = "200", description = "조회 성공")
     @GetMapping
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
-        List<BookResponse> books = bookService.findAll();
+    public ResponseEntity<CursorResponse<BookResponse>> getAllBooks(
+            @Parameter(description = "페이지 크기 (최대 1000)") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "이 id 다음부터 조회") @RequestParam(required = false) Long after) {
+        CursorResponse<BookResponse> books = bookService.findPage(limit, after);
         return ResponseEntity.ok(books);
     }
 
+    @Operation(summary = "전체 책 스트리밍 조회", description = "전체 도서를 DB 커서에서 읽는 대로 JSON 배열로 흘려보냅니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                bookService.streamAll(book -> {
+                    try {
+                        generator.writeObject(book);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(summary = "도서 검색", description = "제목/작가/출판사/장르에 검색어가 포함된 도서를 찾습니다. 초성(예: ㅇㅍㅅ)으로도 검색할 수 있습니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/search")
+    public ResponseEntity<List<BookResponse>> searchBooks(
+            @Parameter(description = "검색어", required = true) @RequestParam String q,
+            @Parameter(description = "최대 건수 (최대 100)") @RequestParam(defaultValue = "20") int limit) {
+        List<BookResponse> books = bookService.search(q, limit);
+        return ResponseEntity.ok(books);
+    }
+
+    @Operation(summary = "서가 탐색", description = "장르/서가위치/책 상태/대여상태로 걸러서 조회하고 항목별 건수를 함께 돌려줍니다. 같은 항목을 여러 번 주면 OR, 항목끼리는 AND 입니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/browse")
+    public ResponseEntity<BookBrowseResponse> browseBooks(
+            @Parameter(description = "장르 (예: 액션)") @RequestParam(required = false) List<String> genre,
+            @Parameter(description = "서가위치 (예: A-01)") @RequestParam(required = false) List<String> location,
+            @Parameter(description = "책 상태 (예: GOOD)") @RequestParam(required = false) List<String> condition,
+            @Parameter(description = "대여상태 (예: AVAILABLE)") @RequestParam(required = false) List<String> status,
+            @Parameter(description = "최대 건수 (최대 100)") @RequestParam(defaultValue = "20") int limit) {
+        Map<BookFacetIndex.Facet, Set<String>> filters = new EnumMap<>(BookFacetIndex.Facet.class);
+        if (genre != null) filters.put(BookFacetIndex.Facet.GENRE, new HashSet<>(genre));
+        if (location != null) filters.put(BookFacetIndex.Facet.LOCATION, new HashSet<>(location));
+        if (condition != null) filters.put(BookFacetIndex.Facet.CONDITION, new HashSet<>(condition));
+        if (status != null) filters.put(BookFacetIndex.Facet.STATUS, new HashSet<>(status));
+        return ResponseEntity.ok(bookService.browse(filters, limit));
+    }
+
+    @Operation(summary = "도서 현황 통계", description = "상태별/장르별 권 수를 조회합니다. 메모리 카운터에서 바로 읽습니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/stats")
+    public ResponseEntity<BookStatsResponse> getStats() {
+        return ResponseEntity.ok(bookStatsCounters.snapshot());
+    }
+
     @Operation(summary = "회원 상세 조회", description = "ID로 특정 회원의 상세 정보를 조회합니다.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "조회 성공"),
@@ -44,6 +127,27 @@ public class BookController {
         return ResponseEntity.ok(book);
     }
 
+    @Operation(summary = "바코드 조회", description = "도서코드로 대여상태와 서가위치를 조회합니다. If-None-Match 에 이전 ETag 를 보내면 바뀌지 않은 경우 304 를 돌려줍니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "304", description = "변경 없음"),
+        @ApiResponse(responseCode = "404", description = "도서를 찾을 수 없음")
+    })
+    @GetMapping("/code/{bookCode}")
+    public ResponseEntity<BookScanResponse> getBookByCode(
+            @Parameter(description = "도서코드", required = true) @PathVariable String bookCode,
+            WebRequest webRequest) {
+        BookScanResponse book = bookService.findByBookCode(bookCode);
+        String eTag = book.eTag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(book);
+    }
+
     //thread
     @Operation(summary = "회원 등록", description = "새로운 회원을 등록합니다.")
     @ApiResponses({
@@ -53,11 +157,26 @@ public class BookController {
     @PostMapping
     public ResponseEntity<Void> createBook(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "책 등록 정보")
-            @RequestBody BookRequest request) {
+            @Valid @RequestBody BookRequest request) {
         bookService.create(request);
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "도서 일괄 등록", description = "CSV(text/csv, 첫 줄 헤더) 또는 JSON Lines(application/x-ndjson) 파일을 읽어 한 번에 등록합니다. 실패한 행은 줄 번호와 사유를 돌려줍니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "처리 완료 (행 단위 실패 포함)"),
+            @ApiResponse(responseCode = "415", description = "지원하지 않는 형식")
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BookImportResponse> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        BookImportResponse result = MediaType.valueOf("text/csv").includes(contentType)
+                ? bookImportService.importCsv(body)
+                : bookImportService.importJsonLines(body);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "도서 정보 수정")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "수정 성공"),
@@ -66,7 +185,7 @@ public class BookController {
     @PostMapping("/{id}/update")
     public ResponseEntity<BookResponse> updateBookById(
             @PathVariable Long id,
-            @RequestBody BookUpdateRequest request) {
+            @Valid @RequestBody BookUpdateRequest request) {
 
         BookResponse updatedBook = bookService.updateBookStatus(id, request);
         return ResponseEntity.ok(updatedBook);
@@ -1,8 +1,16 @@
 package com.study.manca.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.manca.dto.CursorResponse;
 import com.study.manca.dto.MemberResponse;
 import com.study.manca.dto.MemberRequest;
+import com.study.manca.dto.MemberSnapshotResponse;
+import com.study.manca.dto.RentalResponse;
+import com.study.manca.entity.Rental;
 import com.study.manca.service.MemberService;
+import com.study.manca.service.MemberSnapshotService;
+import com.study.manca.service.RentalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,9 +18,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Tag(name = "Member", description = "회원 관리 API")
@@ -22,12 +34,47 @@ import java.util.List;
 public class MemberController {
 
     private final MemberService memberService;
+    private final RentalService rentalService;
+    private final MemberSnapshotService memberSnapshotService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "전체 회원 조회", description = "등록된 모든 회원 목록을 조회합니다.")
+    @Operation(summary = "전체 회원 조회", description = "등록된 회원 목록을 id 순서로 limit 건씩 조회합니다. 다음 페이지는 응답의 nextCursor 를 after 로 넘깁니다.")
     @ApiResponse(responseCode = "200", description = "조회 성공")
     @GetMapping
-    public ResponseEntity<List<MemberResponse>> getAllMembers() {
-        List<MemberResponse> members = memberService.findAll();
+    public ResponseEntity<CursorResponse<MemberResponse>> getAllMembers(
+            @Parameter(description = "페이지 크기 (최대 1000)") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "이 id 다음부터 조회") @RequestParam(required = false) Long after) {
+        CursorResponse<MemberResponse> members = memberService.findPage(limit, after);
+        return ResponseEntity.ok(members);
+    }
+
+    @Operation(summary = "전체 회원 스트리밍 조회", description = "전체 회원을 DB 커서에서 읽는 대로 JSON 배열로 흘려보냅니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMembers() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                memberService.streamAll(member -> {
+                    try {
+                        generator.writeObject(member);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(summary = "회원 카운터 조회", description = "전화번호 뒷자리(숫자 4자리 이상) 또는 이름 일부로 회원을 찾습니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/lookup")
+    public ResponseEntity<List<MemberResponse>> lookupMembers(
+            @Parameter(description = "전화번호 뒷자리 또는 이름 일부 (예: 5678, 철수)", required = true) @RequestParam String q,
+            @Parameter(description = "최대 건수 (최대 100)") @RequestParam(defaultValue = "20") int limit) {
+        List<MemberResponse> members = memberService.lookup(q, limit);
         return ResponseEntity.ok(members);
     }
 
@@ -43,6 +90,34 @@ public class MemberController {
         return ResponseEntity.ok(member);
     }
 
+    @Operation(summary = "회원 방문 현황 조회", description = "회원 정보, 사용중인 좌석, 대여중인 도서, 진행중인 주문을 한 번에 조회합니다. 시간 안에 조회하지 못한 항목은 비워 두고 incomplete 에 표시합니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "회원을 찾을 수 없음")
+    })
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<MemberSnapshotResponse> getMemberSnapshot(
+            @Parameter(description = "회원 ID", required = true) @PathVariable Long id) {
+        MemberSnapshotResponse snapshot = memberSnapshotService.snapshot(id);
+        return ResponseEntity.ok(snapshot);
+    }
+
+    @Operation(summary = "회원 대여 이력 조회", description = "회원의 대여 건을 최근 대여 순으로 limit 건씩 조회합니다. 다음 페이지는 응답의 nextCursor 를 after 로 넘깁니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "회원을 찾을 수 없음")
+    })
+    @GetMapping("/{id}/rentals")
+    public ResponseEntity<CursorResponse<RentalResponse>> getMemberRentals(
+            @Parameter(description = "회원 ID", required = true) @PathVariable Long id,
+            @Parameter(description = "대여상태 (없으면 전체)") @RequestParam(required = false) Rental.RentalStatus status,
+            @Parameter(description = "페이지 크기 (최대 1000)") @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "이 대여 ID 다음부터 조회") @RequestParam(required = false) Long after,
+            @Parameter(description = "보관된 오래된 반납 이력까지 포함") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        CursorResponse<RentalResponse> rentals = rentalService.findByMember(id, status, limit, after, includeArchived);
+        return ResponseEntity.ok(rentals);
+    }
+
     @Operation(summary = "회원 등록", description = "새로운 회원을 등록합니다.")
     @ApiResponses({
         @ApiResponse(responseCode = "201", description = "등록 성공"),
@@ -0,0 +1,61 @@
+package com.study.manca.controller;
+
+import com.study.manca.dto.OrderRequest;
+import com.study.manca.dto.OrderResponse;
+import com.study.manca.entity.Order;
+import com.study.manca.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Order", description = "주문 API")
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @Operation(summary = "주문", description = "좌석에서 메뉴를 주문합니다. Idempotency-Key 헤더를 보내면 같은 키로 다시 보낸 요청에는 처음 응답을 그대로 돌려줍니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "주문 성공"),
+        @ApiResponse(responseCode = "400", description = "판매하지 않는 메뉴 또는 회원/좌석/메뉴를 찾을 수 없음")
+    })
+    @PostMapping
+    public ResponseEntity<OrderResponse> createOrder(
+            @RequestBody OrderRequest request) {
+        OrderResponse order = orderService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+
+    @Operation(summary = "주문 상태 변경", description = "주문 상태를 바꿉니다 (예: PENDING -> PREPARING -> COMPLETED). 완료/취소된 주문은 바꿀 수 없습니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "변경 성공"),
+        @ApiResponse(responseCode = "400", description = "이미 완료/취소된 주문 또는 주문을 찾을 수 없음")
+    })
+    @PostMapping("/{id}/status")
+    public ResponseEntity<OrderResponse> updateOrderStatus(
+            @Parameter(description = "주문 ID", required = true) @PathVariable Long id,
+            @Parameter(description = "변경할 주문상태", required = true) @RequestParam Order.OrderStatus status) {
+        OrderResponse order = orderService.updateStatus(id, status);
+        return ResponseEntity.ok(order);
+    }
+
+    @Operation(summary = "주문 상세 조회", description = "ID로 특정 주문을 조회합니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "주문을 찾을 수 없음")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponse> getOrderById(
+            @Parameter(description = "주문 ID", required = true) @PathVariable Long id) {
+        OrderResponse order = orderService.findById(id);
+        return ResponseEntity.ok(order);
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.manca.controller;
+
+import com.study.manca.dto.PopularItemResponse;
+import com.study.manca.service.PopularityTracker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Popular", description = "인기 순위 API (현황판)")
+@RestController
+@RequestMapping("/api/popular")
+@RequiredArgsConstructor
+public class PopularityController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final PopularityTracker popularityTracker;
+
+    @Operation(summary = "이번 주 인기 제목", description = "최근 7일 동안 많이 대여된 제목을 순위대로 조회합니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/titles")
+    public ResponseEntity<List<PopularItemResponse>> getPopularTitles(
+            @Parameter(description = "조회 건수 (최대 100)") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(popularityTracker.topTitles(Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+
+    @Operation(summary = "오늘 인기 메뉴", description = "최근 24시간 동안 많이 주문된 메뉴를 수량 순위대로 조회합니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/menus")
+    public ResponseEntity<List<PopularItemResponse>> getPopularMenus(
+            @Parameter(description = "조회 건수 (최대 100)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(popularityTracker.topMenus(Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+}
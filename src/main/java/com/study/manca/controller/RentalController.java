@@ -1,6 +1,10 @@
 package com.study.manca.controller;
 
 import com.study.manca.dto.*;
+import com.study.manca.entity.Rental;
+import com.study.manca.service.RentalEvent;
+import com.study.manca.service.RentalEventJournal;
+import com.study.manca.service.RentalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,71 +23,82 @@ import java.util.List;
 public class RentalController {
 
     private final RentalService rentalService;
-
-
-
-    // 설계
-//    @Operation(summary = "전체 책 조회")
-//    @ApiResponse(responseCode = "200", description = "조회 성공")
-//    @GetMapping
-//    public ResponseEntity<List<BookResponse>> getAllBooks() {
-//        List<BookResponse> books = rentalService.findAll();
-//        return ResponseEntity.ok(books);
-//    }
+    private final RentalEventJournal rentalEventJournal;
 
     // 실물 만화 카페???? barcode(bookCode) - scan -> 조회 -> 상태 확인
     // 조회 -> available -> 대여 가능 -> method 를 호출 -> NOT AVAILABLE
-    @Operation(summary = "대여", description = "BookCode 로 대여.")
+    @Operation(summary = "대여", description = "요청한 도서를 한 번에 대여합니다. 한 권이라도 대여할 수 없으면 전체가 취소됩니다. Idempotency-Key 헤더를 보내면 같은 키로 다시 보낸 요청에는 처음 응답을 그대로 돌려줍니다.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "조회 성공"),
-        @ApiResponse(responseCode = "404", description = "회원을 찾을 수 없음")
+        @ApiResponse(responseCode = "200", description = "대여 성공"),
+        @ApiResponse(responseCode = "400", description = "회원을 찾을 수 없음"),
+        @ApiResponse(responseCode = "409", description = "이미 대여중이거나 대여할 수 없는 도서 포함")
     })
     @PostMapping
-    public ResponseEntity<RentalResponse> rentalBook(
+    public ResponseEntity<List<RentalResponse>> rentalBook(
             @RequestBody RentalRequest request) {
         // request 에는 email, bookId, remarks 만 있기 때문에 Rental Entity 에 있는 각종 일시들을 반환해야된다.
         // data row 를 가공했기때문에, 최종적으로 결과물을 전달해야한다.
-        BookResponse book = rentalService.rental(request);
-        return ResponseEntity.ok(book);
+        List<RentalResponse> rentals = rentalService.rental(request);
+        return ResponseEntity.ok(rentals);
     }
 
-    @Operation(summary = "회원 등록", description = "새로운 회원을 등록합니다.")
+    @Operation(summary = "반납", description = "대여 건을 반납 처리하고 도서를 대여가능 상태로 되돌립니다.")
     @ApiResponses({
-        @ApiResponse(responseCode = "201", description = "등록 성공"),
-        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "200", description = "반납 성공"),
+        @ApiResponse(responseCode = "400", description = "대여 건을 찾을 수 없거나 이미 반납됨")
     })
-    @PostMapping
-    public ResponseEntity<Void> createBook(
-            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "책 등록 정보")
-            @RequestBody BookRequest request) {
-        rentalService.create(request);
-        return ResponseEntity.ok().build();
+    @PostMapping("/{id}/return")
+    public ResponseEntity<RentalResponse> returnBook(
+            @Parameter(description = "대여 ID", required = true) @PathVariable Long id) {
+        RentalResponse rental = rentalService.returnBook(id);
+        return ResponseEntity.ok(rental);
+    }
+
+    @Operation(summary = "일괄 반납", description = "스캔한 도서코드 목록으로 대여중인 건을 한 번에 반납 처리합니다. 도서코드별 결과를 반환합니다. Idempotency-Key 헤더를 지원합니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "처리 완료 (도서코드별 결과 확인)"),
+        @ApiResponse(responseCode = "400", description = "도서코드 목록이 비어 있거나 너무 많음")
+    })
+    @PostMapping("/returns")
+    public ResponseEntity<List<RentalReturnResponse>> returnBooks(
+            @RequestBody RentalReturnRequest request) {
+        List<RentalReturnResponse> results = rentalService.returnBooks(request);
+        return ResponseEntity.ok(results);
     }
 
-    @Operation(summary = "도서 정보 수정")
+    @Operation(summary = "대여 현황 조회", description = "대여중/연체중인 건을 도서, 회원 정보와 함께 반납예정일시가 빠른 순으로 limit 건씩 조회합니다. 다음 페이지는 응답의 nextCursor 를 after 로 넘깁니다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "수정 성공"),
-            @ApiResponse(responseCode = "404", description = "도서를 찾을 수 없음")
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 대여상태")
     })
-    @PostMapping("/{id}/update")
-    public ResponseEntity<BookResponse> updateBookById(
-            @PathVariable Long id,
-            @RequestBody BookUpdateRequest request) {
+    @GetMapping("/active")
+    public ResponseEntity<CursorResponse<ActiveRentalResponse>> getActiveRentals(
+            @Parameter(description = "ACTIVE 또는 OVERDUE (없으면 둘 다)") @RequestParam(required = false) Rental.RentalStatus status,
+            @Parameter(description = "페이지 크기 (최대 1000)") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "이 대여 ID 다음부터 조회") @RequestParam(required = false) Long after) {
+        CursorResponse<ActiveRentalResponse> rentals = rentalService.findActive(status, limit, after);
+        return ResponseEntity.ok(rentals);
+    }
 
-        BookResponse updatedBook = rentalService.updateBookStatus(id, request);
-        return ResponseEntity.ok(updatedBook);
+    @Operation(summary = "대여 이벤트 조회", description = "대여/반납/연체/도서 상태 변경 이력을 저널에서 from 번호부터 순서대로 limit 건 읽습니다. 다음은 마지막 sequence + 1 부터 읽습니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/events")
+    public ResponseEntity<List<RentalEvent>> getRentalEvents(
+            @Parameter(description = "시작 sequence") @RequestParam(defaultValue = "1") long from,
+            @Parameter(description = "최대 건수 (최대 10000)") @RequestParam(defaultValue = "1000") int limit) {
+        List<RentalEvent> events = rentalEventJournal.read(from, Math.min(Math.max(limit, 1), 10000));
+        return ResponseEntity.ok(events);
     }
 
-    //TODO: DELETE method
-    @Operation(summary = "도서 삭제", description = "도서 삭제합니다.")
+    @Operation(summary = "대여 상세 조회", description = "ID로 특정 대여 건을 조회합니다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "삭제 성공"),
-            @ApiResponse(responseCode = "404", description = "회원을 찾을 수 없음")
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "대여 건을 찾을 수 없음")
     })
-    @PostMapping("/{id}/delete")
-    public ResponseEntity<Void> deleteBook(
-            @Parameter(description = "회원 ID", required = true) @PathVariable Long id) {
-        rentalService.delete(id);
-        return ResponseEntity.ok().build();
+    @GetMapping("/{id}")
+    public ResponseEntity<RentalResponse> getRentalById(
+            @Parameter(description = "대여 ID", required = true) @PathVariable Long id) {
+        RentalResponse rental = rentalService.findById(id);
+        return ResponseEntity.ok(rental);
     }
 }
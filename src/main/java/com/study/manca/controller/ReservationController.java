@@ -0,0 +1,76 @@
+package com.study.manca.controller;
+
+import com.study.manca.dto.RentalResponse;
+import com.study.manca.dto.ReservationClaimRequest;
+import com.study.manca.dto.ReservationRequest;
+import com.study.manca.dto.ReservationResponse;
+import com.study.manca.service.RentalService;
+import com.study.manca.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Reservation", description = "도서 예약 API")
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+    private final RentalService rentalService;
+
+    @Operation(summary = "예약", description = "대여중인 도서를 예약합니다. 반납되면 예약한 순서대로 차례가 오고, 도서는 대여 기한까지 보관됩니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "예약 성공 (대기 순번 포함)"),
+        @ApiResponse(responseCode = "400", description = "바로 대여 가능한 도서, 이미 예약함 또는 회원/도서를 찾을 수 없음")
+    })
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(
+            @RequestBody ReservationRequest request) {
+        ReservationResponse reservation = reservationService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @Operation(summary = "예약 조회", description = "예약 상태와 대기 순번을 조회합니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "예약을 찾을 수 없음")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationResponse> getReservation(
+            @Parameter(description = "예약 ID", required = true) @PathVariable Long id) {
+        ReservationResponse reservation = reservationService.findById(id);
+        return ResponseEntity.ok(reservation);
+    }
+
+    @Operation(summary = "예약 대여", description = "차례가 온 예약 도서를 대여합니다. 대여 기한이 지나면 다음 사람에게 넘어갑니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "대여 성공"),
+        @ApiResponse(responseCode = "400", description = "아직 차례가 아니거나 대여 기한이 지남 또는 예약한 회원이 아님")
+    })
+    @PostMapping("/{id}/claim")
+    public ResponseEntity<RentalResponse> claim(
+            @Parameter(description = "예약 ID", required = true) @PathVariable Long id,
+            @RequestBody ReservationClaimRequest request) {
+        RentalResponse rental = rentalService.claim(id, request);
+        return ResponseEntity.ok(rental);
+    }
+
+    @Operation(summary = "예약 취소", description = "예약을 취소합니다. 보관중이던 도서는 다음 사람에게 넘어갑니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "취소 성공"),
+        @ApiResponse(responseCode = "400", description = "이미 끝난 예약")
+    })
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<Void> cancel(
+            @Parameter(description = "예약 ID", required = true) @PathVariable Long id) {
+        reservationService.cancel(id);
+        return ResponseEntity.ok().build();
+    }
+}
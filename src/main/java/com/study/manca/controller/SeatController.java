@@ -0,0 +1,57 @@
+package com.study.manca.controller;
+
+import com.study.manca.dto.SeatAssignRequest;
+import com.study.manca.dto.SeatResponse;
+import com.study.manca.service.SeatService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Seat", description = "좌석 관리 API")
+@RestController
+@RequestMapping("/api/seats")
+@RequiredArgsConstructor
+public class SeatController {
+
+    private final SeatService seatService;
+
+    @Operation(summary = "좌석 현황 조회", description = "전체 좌석의 상태와 사용중인 회원을 조회합니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping
+    public ResponseEntity<List<SeatResponse>> getAllSeats() {
+        List<SeatResponse> seats = seatService.findAll();
+        return ResponseEntity.ok(seats);
+    }
+
+    @Operation(summary = "좌석 배정", description = "사용가능한 좌석을 회원에게 배정합니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "배정 성공"),
+        @ApiResponse(responseCode = "400", description = "사용가능한 좌석이 아니거나 좌석/회원을 찾을 수 없음")
+    })
+    @PostMapping("/{id}/assign")
+    public ResponseEntity<SeatResponse> assignSeat(
+            @Parameter(description = "좌석 ID", required = true) @PathVariable Long id,
+            @RequestBody SeatAssignRequest request) {
+        SeatResponse seat = seatService.assign(id, request);
+        return ResponseEntity.ok(seat);
+    }
+
+    @Operation(summary = "좌석 해제", description = "사용중인 좌석을 비웁니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "해제 성공"),
+        @ApiResponse(responseCode = "400", description = "사용중인 좌석이 아니거나 좌석을 찾을 수 없음")
+    })
+    @PostMapping("/{id}/release")
+    public ResponseEntity<SeatResponse> releaseSeat(
+            @Parameter(description = "좌석 ID", required = true) @PathVariable Long id) {
+        SeatResponse seat = seatService.release(id);
+        return ResponseEntity.ok(seat);
+    }
+}
@@ -0,0 +1,34 @@
+package com.study.manca.controller;
+
+import com.study.manca.dto.SeriesAvailabilityResponse;
+import com.study.manca.service.SeriesAvailabilityIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Series", description = "시리즈 API")
+@RestController
+@RequestMapping("/api/series")
+@RequiredArgsConstructor
+public class SeriesController {
+
+    private final SeriesAvailabilityIndex seriesAvailabilityIndex;
+
+    @Operation(summary = "시리즈 대여 가능 현황", description = "시리즈 키(도서코드 앞부분, 예: MH-001) 또는 제목으로 대여 가능한 권을 조회합니다.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "시리즈를 찾을 수 없음")
+    })
+    @GetMapping("/{key}/availability")
+    public ResponseEntity<SeriesAvailabilityResponse> getAvailability(
+            @Parameter(description = "시리즈 키 또는 제목", required = true) @PathVariable String key) {
+        return seriesAvailabilityIndex.find(key)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
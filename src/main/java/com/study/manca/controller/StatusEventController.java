@@ -0,0 +1,42 @@
+package com.study.manca.controller;
+
+import com.study.manca.service.StatusEvent;
+import com.study.manca.service.StatusEventHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+@Tag(name = "StatusEvent", description = "좌석/주문 상태 알림 API")
+@RestController
+@RequestMapping("/api/status-events")
+@RequiredArgsConstructor
+public class StatusEventController {
+
+    private final StatusEventHub statusEventHub;
+
+    @Operation(summary = "상태 변경 구독 (SSE)", description = "좌석 상태와 주문 상태가 바뀔 때마다 변경분을 보냅니다. " +
+            "다시 연결할 때 Last-Event-ID 헤더를 보내면 놓친 변경부터 이어서 받고, 너무 오래되었거나 서버가 재기동했으면 RESYNC 이벤트를 받습니다 (전체를 다시 조회). " +
+            "받는 속도가 너무 느리면 서버가 연결을 끊습니다.")
+    @ApiResponse(responseCode = "200", description = "구독 시작")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "종류 (SEAT, ORDER), 없으면 전체") @RequestParam(required = false) List<StatusEvent.Type> type,
+            @Parameter(description = "상태 (예: AVAILABLE, PENDING), 없으면 전체") @RequestParam(required = false) List<String> status,
+            @Parameter(description = "좌석 ID, 없으면 전체") @RequestParam(required = false) List<Long> seatId,
+            @Parameter(description = "마지막으로 받은 이벤트 ID") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        StatusEventHub.Filter filter = new StatusEventHub.Filter(toSet(type), toSet(status), toSet(seatId));
+        return statusEventHub.subscribe(filter, lastEventId);
+    }
+
+    private static <T> Set<T> toSet(List<T> values) {
+        return values == null ? Set.of() : Set.copyOf(values);
+    }
+}
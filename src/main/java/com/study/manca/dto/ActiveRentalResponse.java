@@ -0,0 +1,67 @@
+package com.study.manca.dto;
+
+import com.study.manca.entity.Rental;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "대여중/연체중 대여 현황")
+@Getter
+public class ActiveRentalResponse {
+
+    @Schema(description = "대여 ID", example = "1")
+    private final Long rentalId;
+
+    @Schema(description = "도서코드", example = "MH-001-003")
+    private final String bookCode;
+
+    @Schema(description = "제목", example = "원피스")
+    private final String bookTitle;
+
+    @Schema(description = "작가", example = "오다 에이이치로")
+    private final String author;
+
+    @Schema(description = "권수", example = "3")
+    private final Integer volume;
+
+    @Schema(description = "회원 ID", example = "1")
+    private final Long memberId;
+
+    @Schema(description = "회원 이름", example = "김철수")
+    private final String memberName;
+
+    @Schema(description = "전화번호", example = "010-1234-5678")
+    private final String phone;
+
+    @Schema(description = "대여일시", example = "2025-01-24T10:30:00")
+    private final LocalDateTime rentalDateTime;
+
+    @Schema(description = "반납예정일시", example = "2025-01-31T10:30:00")
+    private final LocalDateTime dueDateTime;
+
+    @Schema(description = "대여상태", example = "ACTIVE")
+    private final String status;
+
+    @Schema(description = "연체 여부")
+    private final boolean overdue;
+
+    // JPQL 생성자 표현식(select new ...)용 - RentalRepository.ACTIVE_SELECT
+    public ActiveRentalResponse(Long rentalId, String bookCode, String bookTitle, String author, Integer volume,
+                                Long memberId, String memberName, String phone,
+                                LocalDateTime rentalDateTime, LocalDateTime dueDateTime, Rental.RentalStatus status) {
+        this.rentalId = rentalId;
+        this.bookCode = bookCode;
+        this.bookTitle = bookTitle;
+        this.author = author;
+        this.volume = volume;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.phone = phone;
+        this.rentalDateTime = rentalDateTime;
+        this.dueDateTime = dueDateTime;
+        this.status = status.name();
+        // 스케줄러가 OVERDUE 로 바꾸기 전 잠깐 사이도 연체로 보여준다
+        this.overdue = status == Rental.RentalStatus.OVERDUE || LocalDateTime.now().isAfter(dueDateTime);
+    }
+}
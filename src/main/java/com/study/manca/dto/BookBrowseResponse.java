@@ -0,0 +1,23 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "서가 탐색 응답")
+@Getter
+@AllArgsConstructor
+public class BookBrowseResponse {
+
+    @Schema(description = "필터에 맞는 전체 권 수", example = "42")
+    private final int total;
+
+    @Schema(description = "조회 결과 (최대 limit 건)")
+    private final List<BookResponse> items;
+
+    @Schema(description = "항목(genre/location/condition/status)별 값별 권 수")
+    private final Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,39 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Schema(description = "도서 일괄 등록 결과")
+@Getter
+@AllArgsConstructor
+public class BookImportResponse {
+
+    @Schema(description = "읽은 데이터 행 수", example = "5000")
+    private final int total;
+
+    @Schema(description = "등록된 행 수", example = "4998")
+    private final int imported;
+
+    @Schema(description = "실패한 행 수", example = "2")
+    private final int failed;
+
+    @Schema(description = "실패한 행 목록 (최대 1000건)")
+    private final List<RowError> errors;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+
+        @Schema(description = "파일 내 줄 번호 (1부터)", example = "42")
+        private final int line;
+
+        @Schema(description = "도서코드", example = "MH-001-001")
+        private final String bookCode;
+
+        @Schema(description = "실패 사유", example = "bookCode already exists")
+        private final String message;
+    }
+}
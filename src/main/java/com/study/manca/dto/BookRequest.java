@@ -2,6 +2,8 @@ package com.study.manca.dto;
 
 import com.study.manca.entity.Book;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.*;
 
 @Schema(description = "회원 등록/수정 요청")
@@ -9,10 +11,15 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 public class BookRequest {
+
+    public static final int MAX_VOLUME = 10_000;  // 권수 상한
+
     private String bookCode;  // 도서코드 (예: MH-001-001)
     private String title;  // 제목
     private String author;  // 작가
     private String publisher;  // 출판사
+    @Min(1)
+    @Max(MAX_VOLUME)
     private Integer volume;  // 권수, wrapper class 는 null 될 수 있음
     private String genre;  // 장르 (예: 액션, 로맨스, SF, 판타지)
     private Book.BookStatus status;  // 대여상태
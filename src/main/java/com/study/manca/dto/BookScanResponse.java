@@ -0,0 +1,54 @@
+package com.study.manca.dto;
+
+import com.study.manca.entity.Book;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+/**
+ * 바코드 스캔 응답
+ * 도서 카탈로그 캐시의 항목에서 필요한 값만 골라 만든다. 캐시에 있으면 DB 를 읽지 않는다.
+ */
+@Schema(description = "바코드 스캔 응답")
+@Getter
+public class BookScanResponse {
+
+    @Schema(description = "도서 ID", example = "1")
+    private final Long id;
+
+    @Schema(description = "도서코드", example = "MH-001-001")
+    private final String bookCode;
+
+    @Schema(description = "제목", example = "원피스")
+    private final String title;
+
+    @Schema(description = "권수", example = "1")
+    private final int volume;
+
+    @Schema(description = "대여상태", example = "AVAILABLE")
+    private final String status;
+
+    @Schema(description = "서가위치", example = "A-01")
+    private final String location;
+
+    public BookScanResponse(Long id, String bookCode, String title, int volume,
+                            Book.BookStatus status, String location) {
+        this.id = id;
+        this.bookCode = bookCode;
+        this.title = title;
+        this.volume = volume;
+        this.status = status.name();
+        this.location = location;
+    }
+
+    // 응답에 담기는 값으로 만든다 - 값이 그대로면 같은 ETag -> If-None-Match 로 304 응답
+    public String eTag() {
+        // 64bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        String content = bookCode + '\u0000' + title + '\u0000' + volume + '\u0000' + status + '\u0000' + location;
+        for (int i = 0; i < content.length(); i++) {
+            hash ^= content.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return "\"" + id + "-" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,34 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Schema(description = "도서 현황 통계")
+@Getter
+@AllArgsConstructor
+public class BookStatsResponse {
+
+    @Schema(description = "전체 권 수", example = "15")
+    private final long totalBooks;
+
+    @Schema(description = "대여가능", example = "12")
+    private final long availableCount;
+
+    @Schema(description = "대여중", example = "3")
+    private final long rentedCount;
+
+    @Schema(description = "예약보관", example = "0")
+    private final long reservedCount;
+
+    @Schema(description = "분실", example = "0")
+    private final long lostCount;
+
+    @Schema(description = "훼손", example = "0")
+    private final long damagedCount;
+
+    @Schema(description = "장르별 상태별 권 수")
+    private final Map<String, Map<String, Long>> genres;
+}
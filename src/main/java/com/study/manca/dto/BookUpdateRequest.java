@@ -2,6 +2,8 @@ package com.study.manca.dto;
 
 import com.study.manca.entity.Book;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +14,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class BookUpdateRequest {
     private String bookCode;  // 도서코드 (예: MH-001-001)
+    @Min(1)
+    @Max(BookRequest.MAX_VOLUME)
     private Integer volume;  // 권수, wrapper class 는 null 될 수 있음
     private Book.BookStatus status;  // 대여상태
     private Book.BookCondition condition;  // 책 상태
@@ -0,0 +1,38 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(description = "커서 페이지 응답")
+@Getter
+public class CursorResponse<T> {
+
+    @Schema(description = "조회 결과")
+    private final List<T> items;
+
+    @Schema(description = "다음 페이지 조회 시 after 로 넘길 값 (마지막 페이지면 null)", example = "100")
+    private final Long nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부")
+    private final boolean hasNext;
+
+    public CursorResponse(List<T> items, Long nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * limit + 1 건으로 조회한 결과를 잘라서 페이지를 만든다.
+     * 한 건이 더 있으면 다음 페이지가 있다는 뜻이다.
+     */
+    public static <T> CursorResponse<T> of(List<T> rows, int limit, Function<T, Long> cursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<T> items = hasNext ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorResponse<>(items, nextCursor, hasNext);
+    }
+}
@@ -29,12 +29,19 @@ public class MemberResponse {
     private final LocalDateTime updatedAt;
 
     public MemberResponse(Member member) {
-        this.id = member.getId();
-        this.name = member.getName();
-        this.email = member.getEmail();
-        this.phone = member.getPhone();
-        this.createdAt = member.getCreatedAt();
-        this.updatedAt = member.getUpdatedAt();
+        this(member.getId(), member.getName(), member.getEmail(), member.getPhone(),
+                member.getCreatedAt(), member.getUpdatedAt());
+    }
+
+    // JPQL 생성자 표현식(select new ...)용 - MemberRepository.RESPONSE_SELECT
+    public MemberResponse(Long id, String name, String email, String phone,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     public static MemberResponse from(Member member) {
@@ -0,0 +1,28 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Schema(description = "회원 방문 현황 응답")
+@Getter
+@AllArgsConstructor
+public class MemberSnapshotResponse {
+
+    @Schema(description = "회원 정보")
+    private final MemberResponse member;
+
+    @Schema(description = "현재 사용중인 좌석 (없거나 시간 초과면 null)")
+    private final SeatResponse seat;
+
+    @Schema(description = "대여중/연체중인 대여 건 (시간 초과면 null)")
+    private final List<RentalResponse> activeRentals;
+
+    @Schema(description = "대기중/준비중인 주문 (시간 초과면 null)")
+    private final List<OrderResponse> openOrders;
+
+    @Schema(description = "시간 안에 응답하지 못해 비어 있는 항목 (seat/activeRentals/openOrders)", example = "[]")
+    private final List<String> incomplete;
+}
@@ -0,0 +1,28 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "주문")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRequest {
+
+    @Schema(description = "주문고객 이메일", example = "chulsoo.kim@example.com")
+    private String email;
+
+    @Schema(description = "좌석 ID", example = "1")
+    private Long seatId;
+
+    @Schema(description = "메뉴 ID", example = "1")
+    private Long menuId;
+
+    @Schema(description = "수량", example = "2")
+    private Integer quantity;
+
+    @Schema(description = "비고", example = "얼음 적게")
+    private String remarks;
+}
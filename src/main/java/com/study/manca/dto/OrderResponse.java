@@ -0,0 +1,71 @@
+package com.study.manca.dto;
+
+import com.study.manca.entity.Order;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "주문 응답")
+@Getter
+public class OrderResponse {
+
+    @Schema(description = "주문 ID", example = "1")
+    private final Long id;
+
+    @Schema(description = "회원 ID", example = "1")
+    private final Long memberId;
+
+    @Schema(description = "좌석 ID", example = "1")
+    private final Long seatId;
+
+    @Schema(description = "좌석번호", example = "A-01")
+    private final String seatNumber;
+
+    @Schema(description = "메뉴 ID", example = "1")
+    private final Long menuId;
+
+    @Schema(description = "메뉴 이름", example = "아메리카노")
+    private final String menuName;
+
+    @Schema(description = "수량", example = "2")
+    private final Integer quantity;
+
+    @Schema(description = "총액", example = "6000.00")
+    private final BigDecimal totalPrice;
+
+    @Schema(description = "주문일시", example = "2025-01-24T10:30:00")
+    private final LocalDateTime orderDateTime;
+
+    @Schema(description = "주문상태", example = "PENDING")
+    private final String status;
+
+    @Schema(description = "비고")
+    private final String remarks;
+
+    // JPQL 생성자 표현식(select new ...)용 - OrderRepository.RESPONSE_SELECT
+    public OrderResponse(Long id, Long memberId, Long seatId, String seatNumber, Long menuId, String menuName,
+                         Integer quantity, BigDecimal totalPrice, LocalDateTime orderDateTime,
+                         Order.OrderStatus status, String remarks) {
+        this.id = id;
+        this.memberId = memberId;
+        this.seatId = seatId;
+        this.seatNumber = seatNumber;
+        this.menuId = menuId;
+        this.menuName = menuName;
+        this.quantity = quantity;
+        this.totalPrice = totalPrice;
+        this.orderDateTime = orderDateTime;
+        this.status = status.name();
+        this.remarks = remarks;
+    }
+
+    // order.seat, order.menu 가 로딩되어 있어야 추가 쿼리가 나가지 않는다
+    public static OrderResponse from(Order order) {
+        return new OrderResponse(order.getId(), order.getMember().getId(), order.getSeat().getId(),
+                order.getSeat().getSeatNumber(), order.getMenu().getId(), order.getMenu().getName(),
+                order.getQuantity(), order.getTotalPrice(), order.getOrderDateTime(), order.getStatus(),
+                order.getRemarks());
+    }
+}
@@ -0,0 +1,23 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "인기 항목")
+@Getter
+@AllArgsConstructor
+public class PopularItemResponse {
+
+    @Schema(description = "순위 (1부터)", example = "1")
+    private final int rank;
+
+    @Schema(description = "이름 (제목 또는 메뉴 이름)", example = "원피스")
+    private final String name;
+
+    @Schema(description = "집계 건수 (최대 error 만큼 많게 잡혔을 수 있음)", example = "42")
+    private final long count;
+
+    @Schema(description = "최대 오차", example = "0")
+    private final long error;
+}
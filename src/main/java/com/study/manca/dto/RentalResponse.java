@@ -1,9 +1,8 @@
 package com.study.manca.dto;
 
-import com.study.manca.entity.Book;
-import com.study.manca.entity.Member;
 import com.study.manca.entity.Rental;
-import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -11,30 +10,43 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class RentalResponse {
 
     private Long id;
-    private Member member;  // 대여고객
-    private Book book;  // 대여도서
+    private Long memberId;  // 대여고객
+    private Long bookId;  // 대여도서
+    private String bookCode;  // 도서코드 (예: MH-001-001)
+    private String title;  // 제목
+    private int volume;  // 권수
     private LocalDateTime rentalDateTime;  // 대여일시
     private LocalDateTime returnDateTime;  // 반납일시
     private LocalDateTime dueDateTime;  // 반납예정일시
-    private Rental.RentalStatus status = Rental.RentalStatus.ACTIVE;  // 대여상태
+    private String status;  // 대여상태
     private String remarks;  // 비고
 
+    // JPQL 생성자 표현식(select new ...)용 - RentalRepository.RESPONSE_SELECT
+    public RentalResponse(Long id, Long memberId, Long bookId, String bookCode, String title, Integer volume,
+                          LocalDateTime rentalDateTime, LocalDateTime returnDateTime, LocalDateTime dueDateTime,
+                          Rental.RentalStatus status, String remarks) {
+        this(id, memberId, bookId, bookCode, title, volume, rentalDateTime, returnDateTime, dueDateTime,
+                status.name(), remarks);
+    }
+
+    // rental.book 이 fetch join 으로 함께 로딩되어 있어야 추가 쿼리가 나가지 않는다
     public static RentalResponse from(Rental rental) {
         return RentalResponse.builder()
                 .id(rental.getId())
-                .member(rental.getMember())
-                .title(rental.getTitle())
-                .author(rental.getAuthor())
-                .publisher(rental.getPublisher())
-                .volume(rental.getVolume())
-                .genre(rental.getGenre())
+                .memberId(rental.getMember().getId())
+                .bookId(rental.getBook().getId())
+                .bookCode(rental.getBook().getBookCode())
+                .title(rental.getBook().getTitle())
+                .volume(rental.getBook().getVolume())
+                .rentalDateTime(rental.getRentalDateTime())
+                .returnDateTime(rental.getReturnDateTime())
+                .dueDateTime(rental.getDueDateTime())
                 .status(rental.getStatus().name())
-                .condition(rental.getCondition().name())
-                .location(rental.getLocation())
                 .remarks(rental.getRemarks())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "일괄 반납")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalReturnRequest {
+
+    @Schema(description = "스캔한 도서코드 목록", example = "[\"MH-001-003\", \"MH-002-002\"]")
+    private List<String> bookCodes;
+}
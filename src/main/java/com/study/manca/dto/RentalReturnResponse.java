@@ -0,0 +1,38 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "도서코드별 반납 결과")
+@Getter
+@AllArgsConstructor
+public class RentalReturnResponse {
+
+    public enum Result {
+        RETURNED,       // 반납완료
+        NOT_RENTED,     // 대여중인 건 없음 (이미 반납됨 등)
+        NOT_FOUND       // 없는 도서코드
+    }
+
+    @Schema(description = "도서코드", example = "MH-001-003")
+    private final String bookCode;
+
+    @Schema(description = "처리 결과", example = "RETURNED")
+    private final Result result;
+
+    @Schema(description = "반납된 대여 ID")
+    private final Long rentalId;
+
+    @Schema(description = "반납일시")
+    private final LocalDateTime returnDateTime;
+
+    @Schema(description = "연체 반납 여부")
+    private final boolean overdue;
+
+    public static RentalReturnResponse of(String bookCode, Result result) {
+        return new RentalReturnResponse(bookCode, result, null, null, false);
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "예약")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+
+    @Schema(description = "예약고객 이메일", example = "chulsoo.kim@example.com")
+    private String email;
+
+    @Schema(description = "예약도서 ID", example = "3")
+    private Long bookId;
+}
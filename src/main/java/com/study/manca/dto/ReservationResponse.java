@@ -0,0 +1,55 @@
+package com.study.manca.dto;
+
+import com.study.manca.entity.Reservation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "예약 응답")
+@Getter
+@AllArgsConstructor
+public class ReservationResponse {
+
+    @Schema(description = "예약 ID", example = "1")
+    private final Long id;
+
+    @Schema(description = "회원 ID", example = "1")
+    private final Long memberId;
+
+    @Schema(description = "도서 ID", example = "3")
+    private final Long bookId;
+
+    @Schema(description = "도서코드", example = "MH-001-003")
+    private final String bookCode;
+
+    @Schema(description = "제목", example = "원피스")
+    private final String title;
+
+    @Schema(description = "권수", example = "3")
+    private final Integer volume;
+
+    @Schema(description = "예약상태", example = "WAITING")
+    private final String status;
+
+    @Schema(description = "대기 순번 (1 이면 다음 차례, 대기중일 때만)", example = "2")
+    private final Integer position;
+
+    @Schema(description = "대여 기한 (차례가 왔을 때만)", example = "2025-01-24T11:00:00")
+    private final LocalDateTime claimDeadline;
+
+    // reservation.book 이 로딩되어 있어야 추가 쿼리가 나가지 않는다
+    public static ReservationResponse of(Reservation reservation, Integer position) {
+        return new ReservationResponse(
+                reservation.getId(),
+                reservation.getMember().getId(),
+                reservation.getBook().getId(),
+                reservation.getBook().getBookCode(),
+                reservation.getBook().getTitle(),
+                reservation.getBook().getVolume(),
+                reservation.getStatus().name(),
+                position,
+                reservation.getClaimDeadline());
+    }
+}
@@ -0,0 +1,16 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "좌석 배정")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAssignRequest {
+
+    @Schema(description = "사용고객 이메일", example = "chulsoo.kim@example.com")
+    private String email;
+}
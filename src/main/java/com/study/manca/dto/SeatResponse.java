@@ -0,0 +1,34 @@
+package com.study.manca.dto;
+
+import com.study.manca.entity.Seat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+@Schema(description = "좌석 응답")
+@Getter
+public class SeatResponse {
+
+    @Schema(description = "좌석 ID", example = "1")
+    private final Long id;
+
+    @Schema(description = "좌석번호", example = "A-01")
+    private final String seatNumber;
+
+    @Schema(description = "좌석타입", example = "REGULAR")
+    private final String type;
+
+    @Schema(description = "좌석상태", example = "OCCUPIED")
+    private final String status;
+
+    @Schema(description = "현재 사용중인 회원 ID", example = "1")
+    private final Long currentMemberId;
+
+    // JPQL 생성자 표현식(select new ...)용 - SeatRepository.RESPONSE_SELECT
+    public SeatResponse(Long id, String seatNumber, Seat.SeatType type, Seat.SeatStatus status, Long currentMemberId) {
+        this.id = id;
+        this.seatNumber = seatNumber;
+        this.type = type.name();
+        this.status = status.name();
+        this.currentMemberId = currentMemberId;
+    }
+}
@@ -0,0 +1,28 @@
+package com.study.manca.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Schema(description = "시리즈 대여 가능 현황")
+@Getter
+@AllArgsConstructor
+public class SeriesAvailabilityResponse {
+
+    @Schema(description = "시리즈 키 (도서코드 앞부분)", example = "MH-001")
+    private final String seriesKey;
+
+    @Schema(description = "제목", example = "원피스")
+    private final String title;
+
+    @Schema(description = "보유 중인 권 수", example = "3")
+    private final int volumeCount;
+
+    @Schema(description = "대여 가능한 권 수", example = "2")
+    private final int availableCount;
+
+    @Schema(description = "대여 가능한 권 번호", example = "[1, 2]")
+    private final List<Integer> availableVolumes;
+}
@@ -0,0 +1,49 @@
+package com.study.manca.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 대여 엔티티
+ * 반납 후 일정 기간이 지나 rentals 에서 rentals_archive 로 옮겨진 대여 내역 (읽기 전용)
+ * id 는 rentals 에서 쓰던 값을 그대로 유지한다.
+ */
+@Entity
+@Immutable
+@Table(name = "rentals_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedRental {
+
+    @Id
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;  // 대여고객
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;  // 대여도서
+
+    @Column(nullable = false)
+    private LocalDateTime rentalDateTime;  // 대여일시
+
+    @Column
+    private LocalDateTime returnDateTime;  // 반납일시
+
+    @Column(nullable = false)
+    private LocalDateTime dueDateTime;  // 반납예정일시
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Rental.RentalStatus status;  // 대여상태
+
+    @Column(length = 1000)
+    private String remarks;  // 비고
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;  // 보관일시
+}
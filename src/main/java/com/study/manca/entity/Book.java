@@ -54,11 +54,15 @@ public class Book extends BaseEntity {
     @Column(length = 1000)
     private String remarks;  // 비고
 
+    @Version
+    private Long version;  // 낙관적 락 버전
+
     public enum BookStatus {
         AVAILABLE,  // 대여가능
         RENTED,     // 대여중
         LOST,       // 분실
-        DAMAGED     // 훼손
+        DAMAGED,    // 훼손
+        RESERVED    // 예약보관 (예약자 대여 대기) - 저널이 순서(ordinal)로 저장하므로 새 상태는 맨 뒤에 추가
     }
 
     public enum BookCondition {
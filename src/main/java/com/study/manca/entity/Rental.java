@@ -47,6 +47,9 @@ public class Rental extends BaseEntity {
     @Column(length = 1000)
     private String remarks;  // 비고
 
+    @Version
+    private Long version;  // 낙관적 락 버전
+
     public enum RentalStatus {
         ACTIVE,     // 대여중
         RETURNED,   // 반납완료
@@ -55,19 +58,20 @@ public class Rental extends BaseEntity {
 
     /**
      * 반납 처리
+     * 도서 상태는 BookService.checkin 이 대여중(RENTED)인 경우에만 되돌린다 (분실/훼손 처리된 도서는 그대로)
      */
-    public void returnBook() {
-        this.returnDateTime = LocalDateTime.now();
+    public void returnBook(LocalDateTime now) {
+        this.returnDateTime = now;
         this.status = RentalStatus.RETURNED;
-        this.book.setStatus(Book.BookStatus.AVAILABLE);
     }
 
     /**
      * 연체 여부 확인
+     * 보통은 RentalOverdueScheduler 가 OVERDUE 로 바꿔 두지만, 다음 tick 전 사이도 연체로 본다.
      */
     public boolean isOverdue() {
-        if (status == RentalStatus.RETURNED) {
-            return false;
+        if (status != RentalStatus.ACTIVE) {
+            return status == RentalStatus.OVERDUE;
         }
         return LocalDateTime.now().isAfter(dueDateTime);
     }
@@ -0,0 +1,51 @@
+package com.study.manca.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 엔티티
+ * 대여중인 도서를 먼저 기다린 순서대로 받기 위한 대기 내역
+ */
+@Entity
+@Table(name = "reservations")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class Reservation extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;  // 예약고객
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;  // 예약도서
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.WAITING;  // 예약상태
+
+    @Column
+    private LocalDateTime offeredAt;  // 차례가 온 일시
+
+    @Column
+    private LocalDateTime claimDeadline;  // 이 시각까지 대여하지 않으면 다음 사람에게 넘어감
+
+    public enum ReservationStatus {
+        WAITING,    // 대기중
+        OFFERED,    // 차례 옴 (도서 보관중)
+        CLAIMED,    // 대여완료
+        EXPIRED,    // 기한 내 미대여
+        CANCELLED   // 취소
+    }
+}
@@ -0,0 +1,24 @@
+package com.study.manca.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 대여하려는 도서 중 이미 대여중이거나 없는 도서가 있음 -> 409
+ * 재시도해도 결과가 바뀌지 않으므로 ConcurrencyRetry 대상이 아니다.
+ */
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class BookNotAvailableException extends RuntimeException {
+
+    private final List<Long> bookIds;
+
+    public BookNotAvailableException(Collection<Long> bookIds) {
+        super("Books already rented or not available: " + bookIds);
+        this.bookIds = List.copyOf(bookIds);
+    }
+}
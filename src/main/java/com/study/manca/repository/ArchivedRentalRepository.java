@@ -0,0 +1,37 @@
+package com.study.manca.repository;
+
+import com.study.manca.dto.RentalResponse;
+import com.study.manca.entity.ArchivedRental;
+import com.study.manca.entity.Rental;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedRentalRepository extends JpaRepository<ArchivedRental, Long> {
+
+    // RentalRepository.RESPONSE_SELECT 와 같은 모양
+    String RESPONSE_SELECT = "select new com.study.manca.dto.RentalResponse(a.id, a.memberId, b.id, b.bookCode, b.title, b.volume, a.rentalDateTime, a.returnDateTime, a.dueDateTime, a.status, a.remarks) ";
+
+    @Query(RESPONSE_SELECT + "from ArchivedRental a join a.book b where a.id = :id")
+    Optional<RentalResponse> findResponseById(@Param("id") Long id);
+
+    @Query("select a.rentalDateTime from ArchivedRental a where a.id = :id")
+    Optional<LocalDateTime> findRentalDateTimeById(@Param("id") Long id);
+
+    // 회원별 보관 이력 - 최근 대여 순, (afterTime, afterId) 다음부터
+    @Query(RESPONSE_SELECT + "from ArchivedRental a join a.book b " +
+            "where a.memberId = :memberId and a.status in :statuses " +
+            "and (a.rentalDateTime < :afterTime or (a.rentalDateTime = :afterTime and a.id < :afterId)) " +
+            "order by a.rentalDateTime desc, a.id desc")
+    List<RentalResponse> findMemberPageBefore(@Param("memberId") Long memberId,
+                                              @Param("statuses") Collection<Rental.RentalStatus> statuses,
+                                              @Param("afterTime") LocalDateTime afterTime,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+}
@@ -1,9 +1,61 @@
 package com.study.manca.repository;
 
+import com.study.manca.dto.BookResponse;
 import com.study.manca.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
 
     boolean existsByBookCode(String bookCode);
+
+    // 조회 API 는 응답에 필요한 컬럼만 DTO 로 바로 읽는다 (엔티티/스냅샷을 만들지 않음)
+    String RESPONSE_SELECT = "select new com.study.manca.dto.BookResponse(b.id, b.bookCode, b.title, b.author, b.publisher, b.volume, b.genre, b.status, b.condition, b.location, b.remarks) ";
+
+    @Query(RESPONSE_SELECT + "from Book b where b.id = :id")
+    Optional<BookResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE_SELECT + "from Book b where b.bookCode = :bookCode")
+    Optional<BookResponse> findResponseByBookCode(@Param("bookCode") String bookCode);
+
+    @Query(RESPONSE_SELECT + "from Book b where b.id in :ids")
+    List<BookResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 카탈로그 캐시는 비고를 들고 있지 않으므로 응답을 만들 때 따로 읽는다 [id, remarks]
+    @Query("select b.id, b.remarks from Book b where b.id in :ids and b.remarks is not null")
+    List<Object[]> findRemarksByIdIn(@Param("ids") Collection<Long> ids);
+
+    // id 기준 keyset 페이지 조회 (OFFSET 없이 인덱스만 타고 다음 페이지로 이동)
+    @Query(RESPONSE_SELECT + "from Book b where b.id > :after order by b.id")
+    List<BookResponse> findResponsePage(@Param("after") Long after, Pageable pageable);
+
+    // 전체를 JDBC 커서로 흘려보내기 위한 스트림 조회 (트랜잭션 안에서만 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "from Book b order by b.id")
+    Stream<BookResponse> streamAllResponses();
+
+    // 메모리 인덱스 적재용 스트림 (트랜잭션 안에서만 사용)
+    // 생성자 표현식으로 만든 Book 은 영속성 컨텍스트에 올라가지 않으므로 스냅샷도, detach 도 필요 없다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.study.manca.entity.Book(b.id, b.bookCode, b.title, b.author, b.publisher, b.volume, " +
+            "b.genre, b.status, b.condition, b.location, b.remarks, b.version) from Book b order by b.id")
+    Stream<Book> streamAllForIndex();
+
+    // 다른 트랜잭션이 이 도서의 상태를 바꾸는 중이면 커밋될 때까지 기다렸다가 읽는다 (예약 대기열 확인용)
+    @Query(value = "select status from books where id = :id for update", nativeQuery = true)
+    Optional<String> findStatusForUpdate(@Param("id") Long id);
+
+    // 통계 보정용 장르별/상태별 권 수 [genre, status, count]
+    @Query("select b.genre, b.status, count(b) from Book b group by b.genre, b.status")
+    List<Object[]> countByGenreAndStatus();
 }
@@ -0,0 +1,16 @@
+package com.study.manca.repository;
+
+import com.study.manca.entity.Book;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * from 상태인 도서만 to 로 바꾸고, 이번 UPDATE 로 바뀐 도서 id 를 돌려준다.
+     * 돌려받은 건수가 요청 건수보다 적으면 누군가 먼저 바꾼 것이다.
+     */
+    List<Long> updateStatusIfMatches(Collection<Long> ids, Book.BookStatus from, Book.BookStatus to, LocalDateTime now);
+}
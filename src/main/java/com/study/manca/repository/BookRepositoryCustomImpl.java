@@ -0,0 +1,42 @@
+package com.study.manca.repository;
+
+import com.study.manca.entity.Book;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    // 바뀐 행은 UPDATE ... RETURNING 으로 받는다 (같은 시각에 찍힌 다른 변경과 섞이지 않게)
+    // version 도 올려서 엔티티로 읽어 둔 쪽(수정/반납)이 낙관적 락 충돌을 알 수 있게 한다
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE books SET status = :to, updated_at = :now, version = version + 1
+            WHERE id IN (:ids) AND status = :from
+            RETURNING id
+            """;
+
+    private final EntityManager entityManager;
+
+    // @Modifying(flushAutomatically = true, clearAutomatically = true) 와 같이
+    // 앞선 변경을 먼저 내려쓰고, 끝나면 영속성 컨텍스트를 비워 바뀌기 전 상태의 엔티티가 남지 않게 한다
+    @Override
+    public List<Long> updateStatusIfMatches(Collection<Long> ids, Book.BookStatus from, Book.BookStatus to,
+                                            LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        entityManager.flush();
+        List<?> rows = entityManager.createNativeQuery(UPDATE_STATUS_SQL)
+                .setParameter("ids", ids)
+                .setParameter("from", from.name())
+                .setParameter("to", to.name())
+                .setParameter("now", now)
+                .getResultList();
+        entityManager.clear();
+        return rows.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+}
@@ -1,15 +1,37 @@
 package com.study.manca.repository;
 
+import com.study.manca.dto.MemberResponse;
 import com.study.manca.entity.Member;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
-    // 이메일로 사용자 조회
-    Optional<Member> findByEmail(String email);
+    // 이메일로 사용자 id 조회 (lower(email) 유니크 인덱스를 타도록 같은 식으로 비교)
+    @Query("select m.id from Member m where lower(m.email) = lower(:email)")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 
-    // 이메일 중복 확인
-    boolean existsByEmail(String email);
+    // 조회 API 는 응답에 필요한 컬럼만 DTO 로 바로 읽는다 (엔티티/스냅샷을 만들지 않음)
+    String RESPONSE_SELECT = "select new com.study.manca.dto.MemberResponse(m.id, m.name, m.email, m.phone, m.createdAt, m.updatedAt) ";
+
+    @Query(RESPONSE_SELECT + "from Member m where m.id = :id")
+    Optional<MemberResponse> findResponseById(@Param("id") Long id);
+
+    // id 기준 keyset 페이지 조회
+    @Query(RESPONSE_SELECT + "from Member m where m.id > :after order by m.id")
+    List<MemberResponse> findResponsePage(@Param("after") Long after, Pageable pageable);
+
+    // 전체를 JDBC 커서로 흘려보내기 위한 스트림 조회 (트랜잭션 안에서만 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "from Member m order by m.id")
+    Stream<MemberResponse> streamAllResponses();
 }
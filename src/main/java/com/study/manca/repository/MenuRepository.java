@@ -0,0 +1,7 @@
+package com.study.manca.repository;
+
+import com.study.manca.entity.Menu;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MenuRepository extends JpaRepository<Menu, Long> {
+}
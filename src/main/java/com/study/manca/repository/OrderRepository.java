@@ -0,0 +1,33 @@
+package com.study.manca.repository;
+
+import com.study.manca.dto.OrderResponse;
+import com.study.manca.entity.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // 조회 API 는 주문 + 좌석/메뉴 컬럼을 한 번의 join 으로 DTO 에 바로 담는다
+    String RESPONSE_SELECT = "select new com.study.manca.dto.OrderResponse(o.id, o.member.id, s.id, s.seatNumber, mn.id, mn.name, o.quantity, o.totalPrice, o.orderDateTime, o.status, o.remarks) ";
+
+    @Query(RESPONSE_SELECT + "from Order o join o.seat s join o.menu mn where o.id = :id")
+    Optional<OrderResponse> findResponseById(@Param("id") Long id);
+
+    // 회원의 주문 중 statuses 인 것, 최근 주문 순
+    @Query(RESPONSE_SELECT + "from Order o join o.seat s join o.menu mn " +
+            "where o.member.id = :memberId and o.status in :statuses order by o.orderDateTime desc, o.id desc")
+    List<OrderResponse> findResponsesByMemberId(@Param("memberId") Long memberId,
+                                                @Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    // 인기 메뉴 집계 초기 적재용 [menuName, quantity, orderDateTime]
+    @Query("select mn.name, o.quantity, o.orderDateTime from Order o join o.menu mn " +
+            "where o.orderDateTime >= :since and o.status <> com.study.manca.entity.Order.OrderStatus.CANCELLED")
+    Stream<Object[]> streamMenuQuantitiesSince(@Param("since") LocalDateTime since);
+}
@@ -1,9 +1,152 @@
 package com.study.manca.repository;
 
-import com.study.manca.entity.Book;
+import com.study.manca.dto.ActiveRentalResponse;
+import com.study.manca.dto.RentalResponse;
+import com.study.manca.entity.Rental;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface RentalRepository extends JpaRepository<Book, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-    boolean existsByBookCode(String bookCode);
+public interface RentalRepository extends JpaRepository<Rental, Long> {
+
+    // 대여 건을 한 번의 INSERT ... SELECT 로 일괄 생성 (IDENTITY 라 saveAll 은 건마다 INSERT 가 나간다)
+    // 새로 만든 id 는 RETURNING 으로 받는다 (같은 회원이 같은 시각에 대여해도 섞이지 않게)
+    @Query(value = """
+            INSERT INTO rentals (member_id, book_id, rental_date_time, due_date_time, status, remarks, created_at, updated_at)
+            SELECT :memberId, b.id, :now, :dueDateTime, 'ACTIVE', :remarks, :now, :now
+            FROM books b
+            WHERE b.id IN (:bookIds)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> insertAll(@Param("memberId") Long memberId,
+                         @Param("bookIds") Collection<Long> bookIds,
+                         @Param("now") LocalDateTime now,
+                         @Param("dueDateTime") LocalDateTime dueDateTime,
+                         @Param("remarks") String remarks);
+
+    // 조회 API 는 대여 + 도서 컬럼을 한 번의 join 으로 DTO 에 바로 담는다
+    String RESPONSE_SELECT = "select new com.study.manca.dto.RentalResponse(r.id, r.member.id, b.id, b.bookCode, b.title, b.volume, r.rentalDateTime, r.returnDateTime, r.dueDateTime, r.status, r.remarks) ";
+
+    // 방금 생성한 대여 건 조회 (insertAll 이 돌려준 id)
+    @Query(RESPONSE_SELECT + "from Rental r join r.book b where r.id in :ids order by r.id")
+    List<RentalResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 대여 현황판 - 대여/도서/회원을 한 번의 join 으로 DTO 에 담는다 (행 수와 관계없이 쿼리 1회)
+    String ACTIVE_SELECT = "select new com.study.manca.dto.ActiveRentalResponse(r.id, b.bookCode, b.title, b.author, b.volume, m.id, m.name, m.phone, r.rentalDateTime, r.dueDateTime, r.status) ";
+
+    // 반납예정일시가 빠른 순 - (status, due_date_time) 인덱스 순서로 읽는다
+    @Query(ACTIVE_SELECT + "from Rental r join r.book b join r.member m " +
+            "where r.status in :statuses " +
+            "order by r.dueDateTime, r.id")
+    List<ActiveRentalResponse> findActivePage(@Param("statuses") Collection<Rental.RentalStatus> statuses,
+                                              Pageable pageable);
+
+    @Query(ACTIVE_SELECT + "from Rental r join r.book b join r.member m, Rental a " +
+            "where a.id = :after and r.status in :statuses " +
+            "and (r.dueDateTime > a.dueDateTime or (r.dueDateTime = a.dueDateTime and r.id > a.id)) " +
+            "order by r.dueDateTime, r.id")
+    List<ActiveRentalResponse> findActivePageAfter(@Param("statuses") Collection<Rental.RentalStatus> statuses,
+                                                   @Param("after") Long after,
+                                                   Pageable pageable);
+
+    // 회원별 대여 이력 - (member_id, rental_date_time DESC, id DESC) 인덱스 순서 그대로 읽는다
+    // 다음 페이지는 마지막 대여 건의 (rentalDateTime, id) 보다 뒤에 있는 건 (findMemberPageBefore)
+    @Query(RESPONSE_SELECT + "from Rental r join r.book b " +
+            "where r.member.id = :memberId and r.status in :statuses " +
+            "order by r.rentalDateTime desc, r.id desc")
+    List<RentalResponse> findMemberPage(@Param("memberId") Long memberId,
+                                        @Param("statuses") Collection<Rental.RentalStatus> statuses,
+                                        Pageable pageable);
+
+    // 커서 위치는 서비스에서 먼저 찾아 넘긴다 (커서 건이 rentals_archive 로 옮겨졌어도 이어서 읽을 수 있게)
+    @Query(RESPONSE_SELECT + "from Rental r join r.book b " +
+            "where r.member.id = :memberId and r.status in :statuses " +
+            "and (r.rentalDateTime < :afterTime or (r.rentalDateTime = :afterTime and r.id < :afterId)) " +
+            "order by r.rentalDateTime desc, r.id desc")
+    List<RentalResponse> findMemberPageBefore(@Param("memberId") Long memberId,
+                                              @Param("statuses") Collection<Rental.RentalStatus> statuses,
+                                              @Param("afterTime") LocalDateTime afterTime,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    @Query("select r.rentalDateTime from Rental r where r.id = :id")
+    Optional<LocalDateTime> findRentalDateTimeById(@Param("id") Long id);
+
+    // 반납 후 cutoff 가 지난 대여 건을 batchSize 건씩 rentals_archive 로 옮긴다 (DELETE ... RETURNING -> INSERT 한 문장)
+    // 다른 트랜잭션이 잡고 있는 행은 건너뛴다
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM rentals
+                WHERE id IN (
+                    SELECT id FROM rentals
+                    WHERE status = 'RETURNED' AND return_date_time < :cutoff
+                    ORDER BY id
+                    LIMIT :batchSize
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id, member_id, book_id, rental_date_time, return_date_time, due_date_time, status, remarks, created_at, updated_at)
+            INSERT INTO rentals_archive (id, member_id, book_id, rental_date_time, return_date_time, due_date_time, status, remarks, created_at, updated_at, archived_at)
+            SELECT id, member_id, book_id, rental_date_time, return_date_time, due_date_time, status, remarks, created_at, updated_at, CURRENT_TIMESTAMP
+            FROM moved
+            """, nativeQuery = true)
+    int archiveReturnedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Query("select r from Rental r join fetch r.book where r.id = :id")
+    Optional<Rental> findWithBookById(@Param("id") Long id);
+
+    @Query(RESPONSE_SELECT + "from Rental r join r.book b where r.id = :id")
+    Optional<RentalResponse> findResponseById(@Param("id") Long id);
+
+    // 일괄 반납용 - 도서코드마다 도서와 반납 대상 대여 건을 한 번에 [bookId, bookCode, rentalId, dueDateTime, status, memberId]
+    // 도서가 있지만 대여중이 아니면 rental 쪽이 null, 도서코드가 없으면 행 자체가 없다
+    @Query("select b.id, b.bookCode, r.id, r.dueDateTime, r.status, r.member.id from Book b " +
+            "left join Rental r on r.book = b and r.status in :statuses " +
+            "where b.bookCode in :bookCodes")
+    List<Object[]> findReturnTargets(@Param("bookCodes") Collection<String> bookCodes,
+                                     @Param("statuses") Collection<Rental.RentalStatus> statuses);
+
+    // 대여중/연체중인 건만 반납 처리. 반환값이 요청 건수보다 적으면 그 사이 누가 먼저 반납한 것
+    @Modifying
+    @Query("update Rental r set r.status = com.study.manca.entity.Rental.RentalStatus.RETURNED, " +
+            "r.returnDateTime = :now, r.updatedAt = :now, r.version = r.version + 1 " +
+            "where r.id in :ids and r.status in :statuses")
+    int markReturned(@Param("ids") Collection<Long> ids,
+                     @Param("statuses") Collection<Rental.RentalStatus> statuses,
+                     @Param("now") LocalDateTime now);
+
+    // 인기 제목 집계 초기 적재용 [title, rentalDateTime]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select b.title, r.rentalDateTime from Rental r join r.book b where r.rentalDateTime >= :since")
+    Stream<Object[]> streamTitlesSince(@Param("since") LocalDateTime since);
+
+    // 연체 스케줄러 적재용 [id, dueDateTime, bookId, memberId]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r.id, r.dueDateTime, r.book.id, r.member.id from Rental r where r.status = :status")
+    Stream<Object[]> streamDueByStatus(@Param("status") Rental.RentalStatus status);
+
+    // 반납예정일시가 지난 대여중 건만 OVERDUE 로 (그 사이 반납된 건은 조건에서 빠진다)
+    // 실제로 바뀐 id 는 RETURNING 으로 받는다
+    @Query(value = """
+            UPDATE rentals SET status = 'OVERDUE', updated_at = :now, version = version + 1
+            WHERE id IN (:ids) AND status = 'ACTIVE' AND due_date_time <= :now
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> markOverdue(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Rental r set r.status = com.study.manca.entity.Rental.RentalStatus.OVERDUE, " +
+            "r.updatedAt = :now, r.version = r.version + 1 " +
+            "where r.status = com.study.manca.entity.Rental.RentalStatus.ACTIVE and r.dueDateTime <= :now")
+    int markAllOverdue(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,55 @@
+package com.study.manca.repository;
+
+import com.study.manca.entity.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    @Query("select r from Reservation r join fetch r.book where r.id = :id")
+    Optional<Reservation> findWithBookById(@Param("id") Long id);
+
+    // 같은 회원이 같은 도서를 이미 기다리고 있는지
+    @Query("select count(r) > 0 from Reservation r " +
+            "where r.member.id = :memberId and r.book.id = :bookId and r.status in :statuses")
+    boolean existsByMemberAndBook(@Param("memberId") Long memberId,
+                                  @Param("bookId") Long bookId,
+                                  @Param("statuses") Collection<Reservation.ReservationStatus> statuses);
+
+    // 기동 시 대기열 적재용 (먼저 예약한 순) [id, bookId, memberId]
+    @Query("select r.id, r.book.id, r.member.id from Reservation r where r.status = :status order by r.id")
+    List<Object[]> findQueued(@Param("status") Reservation.ReservationStatus status);
+
+    // 보관 기한이 지난 건 [id, bookId]
+    @Query("select r.id, r.book.id from Reservation r " +
+            "where r.status = com.study.manca.entity.Reservation.ReservationStatus.OFFERED and r.claimDeadline < :now")
+    List<Object[]> findExpiredOffers(@Param("now") LocalDateTime now);
+
+    // from 상태일 때만 to 로 바꾼다 (취소/대여/만료가 동시에 와도 한쪽만 성공)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Reservation r set r.status = :to, r.updatedAt = :now where r.id in :ids and r.status = :from")
+    int updateStatusIfMatches(@Param("ids") Collection<Long> ids,
+                              @Param("from") Reservation.ReservationStatus from,
+                              @Param("to") Reservation.ReservationStatus to,
+                              @Param("now") LocalDateTime now);
+
+    // 도서를 보관하던 예약을 취소한다 (보관중인 도서를 분실/파손 등 다른 상태로 바꿀 때)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Reservation r set r.status = com.study.manca.entity.Reservation.ReservationStatus.CANCELLED, r.updatedAt = :now " +
+            "where r.book.id = :bookId and r.status = com.study.manca.entity.Reservation.ReservationStatus.OFFERED")
+    int cancelOffers(@Param("bookId") Long bookId, @Param("now") LocalDateTime now);
+
+    // 대기중인 건에 차례를 넘긴다
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Reservation r set r.status = com.study.manca.entity.Reservation.ReservationStatus.OFFERED, " +
+            "r.offeredAt = :now, r.claimDeadline = :claimDeadline, r.updatedAt = :now " +
+            "where r.id = :id and r.status = com.study.manca.entity.Reservation.ReservationStatus.WAITING")
+    int offer(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("claimDeadline") LocalDateTime claimDeadline);
+}
@@ -0,0 +1,18 @@
+package com.study.manca.repository;
+
+import com.study.manca.dto.SeatResponse;
+import com.study.manca.entity.Seat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface SeatRepository extends JpaRepository<Seat, Long> {
+
+    // left join - 비어 있는 좌석은 current_member_id 가 null
+    String RESPONSE_SELECT = "select new com.study.manca.dto.SeatResponse(s.id, s.seatNumber, s.type, s.status, cm.id) ";
+
+    // 좌석 점유 현황 적재용
+    @Query(RESPONSE_SELECT + "from Seat s left join s.currentMember cm order by s.id")
+    List<SeatResponse> findAllResponses();
+}
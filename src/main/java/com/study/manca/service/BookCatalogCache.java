@@ -0,0 +1,234 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.BookResponse;
+import com.study.manca.dto.BookScanResponse;
+import com.study.manca.entity.Book;
+import com.study.manca.repository.BookRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 도서 카탈로그 캐시
+ * id 와 bookCode 양쪽으로 찾을 수 있는 read-through LRU 캐시.
+ * DB 에서는 BookResponse 프로젝션으로 읽고, Book 엔티티 대신 작은 CatalogEntry 를 저장한다.
+ * - 작가/출판사/장르/서가위치/제목은 같은 문자열 인스턴스를 공유 (크기가 고정된 intern 표, 겹치면 덮어쓴다)
+ * - 상태/책 상태는 enum 대신 ordinal(byte)
+ * - 비고(최대 1000자)는 들고 있지 않고 있는지 여부만 기억했다가, 응답을 만들 때 있는 것만 한 번에 읽는다
+ * 상태가 바뀌는 쓰기(수정/삭제/대여)는 커밋 후 evict 로 무효화한다.
+ */
+@Component
+public class BookCatalogCache implements BookChangeListener {
+
+    private static final Book.BookStatus[] STATUSES = Book.BookStatus.values();
+    private static final Book.BookCondition[] CONDITIONS = Book.BookCondition.values();
+    private static final int INTERN_SLOTS = 1 << 14;
+
+    private final BookRepository bookRepository;
+    private final int maxSize;
+
+    private final LinkedHashMap<Long, CatalogEntry> byId;
+    private final Map<String, Long> idByCode = new HashMap<>();
+    // 같은 슬롯에 다른 문자열이 오면 덮어쓰므로 크기가 늘지 않는다 (경합해도 공유를 놓칠 뿐 값은 틀리지 않는다)
+    private final String[] internPool = new String[INTERN_SLOTS];
+
+    // 로딩 중에 무효화가 끼어들면 오래된 값을 넣지 않기 위한 카운터
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BookCatalogCache(BookRepository bookRepository,
+                            @Value("${manca.catalog-cache.max-size:200000}") int maxSize) {
+        this.bookRepository = bookRepository;
+        this.maxSize = maxSize;
+        this.byId = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CatalogEntry> eldest) {
+                if (size() > BookCatalogCache.this.maxSize) {
+                    idByCode.remove(eldest.getValue().bookCode());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<CatalogEntry> get(Long id) {
+        CatalogEntry cached = cached(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long version = invalidations.get();
+        return bookRepository.findResponseById(id).map(book -> put(book, version));
+    }
+
+    public Optional<CatalogEntry> getByBookCode(String bookCode) {
+        CatalogEntry cached = cachedByCode(bookCode);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long version = invalidations.get();
+        return bookRepository.findResponseByBookCode(bookCode).map(book -> put(book, version));
+    }
+
+    /**
+     * 여러 건 조회 - 캐시에 없는 id 만 모아서 한 번에 읽는다. 없는 id 는 결과에서 빠진다.
+     */
+    public Map<Long, CatalogEntry> getAll(Collection<Long> ids) {
+        Map<Long, CatalogEntry> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            CatalogEntry cached = cached(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            long version = invalidations.get();
+            for (BookResponse book : bookRepository.findResponsesByIdIn(misses)) {
+                result.put(book.getId(), put(book, version));
+            }
+        }
+        return result;
+    }
+
+    public BookResponse toResponse(CatalogEntry entry) {
+        return toResponses(List.of(entry)).get(0);
+    }
+
+    /**
+     * 응답 목록 - 비고가 있는 도서만 모아서 한 번에 읽는다
+     */
+    public List<BookResponse> toResponses(List<CatalogEntry> entries) {
+        List<Long> withRemarks = entries.stream().filter(CatalogEntry::hasRemarks).map(CatalogEntry::id).toList();
+        Map<Long, String> remarks = new HashMap<>();
+        if (!withRemarks.isEmpty()) {
+            for (Object[] row : bookRepository.findRemarksByIdIn(withRemarks)) {
+                remarks.put((Long) row[0], (String) row[1]);
+            }
+        }
+        List<BookResponse> responses = new ArrayList<>(entries.size());
+        for (CatalogEntry entry : entries) {
+            responses.add(entry.toResponse(remarks.get(entry.id())));
+        }
+        return responses;
+    }
+
+    public boolean existsByBookCode(String bookCode) {
+        return cachedByCode(bookCode) != null || bookRepository.existsByBookCode(bookCode);
+    }
+
+    @Override
+    public void onSaved(Book book) {
+        evict(book.getId());
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        evict(id);
+    }
+
+    @Override
+    public void onStatusChanged(Collection<Long> ids, Book.BookStatus status) {
+        evictAll(ids);
+    }
+
+    public void evict(Long id) {
+        invalidations.incrementAndGet();
+        synchronized (this) {
+            CatalogEntry removed = byId.remove(id);
+            if (removed != null) {
+                idByCode.remove(removed.bookCode());
+            }
+        }
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        ids.forEach(this::evict);
+    }
+
+    private synchronized CatalogEntry cached(Long id) {
+        return byId.get(id);
+    }
+
+    private synchronized CatalogEntry cachedByCode(String bookCode) {
+        Long id = idByCode.get(bookCode);
+        return id == null ? null : byId.get(id);
+    }
+
+    private CatalogEntry put(BookResponse book, long version) {
+        CatalogEntry entry = new CatalogEntry(
+                book.getId(),
+                book.getBookCode(),
+                intern(book.getTitle()),
+                intern(book.getAuthor()),
+                intern(book.getPublisher()),
+                book.getVolume(),
+                intern(book.getGenre()),
+                (byte) Book.BookStatus.valueOf(book.getStatus()).ordinal(),
+                (byte) Book.BookCondition.valueOf(book.getCondition()).ordinal(),
+                intern(book.getLocation()),
+                book.getRemarks() != null);
+        synchronized (this) {
+            if (invalidations.get() == version) {
+                byId.put(entry.id(), entry);
+                idByCode.put(entry.bookCode(), entry.id());
+            }
+        }
+        return entry;
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int slot = value.hashCode() & (INTERN_SLOTS - 1);
+        String pooled = internPool[slot];
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        internPool[slot] = value;
+        return value;
+    }
+
+    public record CatalogEntry(long id, String bookCode, String title, String author, String publisher,
+                               int volume, String genre, byte status, byte condition,
+                               String location, boolean hasRemarks) {
+
+        public Book.BookStatus bookStatus() {
+            return STATUSES[status];
+        }
+
+        public Book.BookCondition bookCondition() {
+            return CONDITIONS[condition];
+        }
+
+        public BookScanResponse toScanResponse() {
+            return new BookScanResponse(id, bookCode, title, volume, bookStatus(), location);
+        }
+
+        BookResponse toResponse(String remarks) {
+            return BookResponse.builder()
+                    .id(id)
+                    .bookCode(bookCode)
+                    .title(title)
+                    .author(author)
+                    .publisher(publisher)
+                    .volume(volume)
+                    .genre(genre)
+                    .status(bookStatus().name())
+                    .condition(bookCondition().name())
+                    .location(location)
+                    .remarks(remarks)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+
+import java.util.Collection;
+
+/**
+ * 도서 변경 알림을 받는 메모리 인덱스/캐시
+ * BookChangePublisher 가 트랜잭션 커밋 후에 호출한다.
+ */
+public interface BookChangeListener {
+
+    // 등록 또는 수정
+    default void onSaved(Book book) {
+    }
+
+    default void onDeleted(Long id) {
+    }
+
+    // 대여/반납처럼 상태만 일괄로 바뀐 경우
+    default void onStatusChanged(Collection<Long> ids, Book.BookStatus status) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 도서 변경을 등록된 BookChangeListener 들에게 커밋 후 전달
+ */
+@Component
+@RequiredArgsConstructor
+public class BookChangePublisher {
+
+    private final List<BookChangeListener> listeners;
+
+    public void saved(Book book) {
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onSaved(book)));
+    }
+
+    public void deleted(Long id) {
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onDeleted(id)));
+    }
+
+    public void statusChanged(Collection<Long> ids, Book.BookStatus status) {
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onStatusChanged(ids, status)));
+    }
+}
@@ -0,0 +1,227 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도서 facet 인덱스
+ * 도서마다 0 부터 빈틈없이 번호(ordinal)를 매기고, 장르/서가위치/책 상태/대여상태 값마다 BitSet 을 하나씩 둔다.
+ * 삭제된 번호는 재사용해서 번호 범위가 도서 수를 넘지 않게 유지한다 (10만 권이면 BitSet 하나가 약 12KB).
+ * 필터는 같은 항목 안에서는 OR, 항목끼리는 AND 로 계산하고,
+ * facet 건수는 자기 항목을 뺀 나머지 필터를 적용한 상태에서 센다 (다른 값을 골랐을 때의 건수).
+ * 기동 시 적재는 BookIndexLoader 가 한다.
+ */
+@Component
+public class BookFacetIndex implements BookChangeListener {
+
+    public enum Facet {
+        GENRE, LOCATION, CONDITION, STATUS
+    }
+
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private long[] idByOrdinal = new long[1024];
+    private String[][] valuesByOrdinal = new String[1024][];
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+    private final BitSet live = new BitSet();
+    private final Map<Facet, Map<String, BitSet>> bitmaps = new EnumMap<>(Facet.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    {
+        for (Facet facet : Facet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    @Override
+    public void onSaved(Book book) {
+        String[] values = new String[Facet.values().length];
+        values[Facet.GENRE.ordinal()] = book.getGenre();
+        values[Facet.LOCATION.ordinal()] = book.getLocation();
+        values[Facet.CONDITION.ordinal()] = book.getCondition().name();
+        values[Facet.STATUS.ordinal()] = book.getStatus().name();
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.get(book.getId());
+            if (ordinal == null) {
+                ordinal = allocate(book.getId());
+            } else {
+                clearBits(ordinal);
+            }
+            valuesByOrdinal[ordinal] = values;
+            setBits(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(id);
+            if (ordinal != null) {
+                clearBits(ordinal);
+                valuesByOrdinal[ordinal] = null;
+                live.clear(ordinal);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStatusChanged(Collection<Long> ids, Book.BookStatus status) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Integer ordinal = ordinalById.get(id);
+                if (ordinal == null) {
+                    continue;
+                }
+                String[] values = valuesByOrdinal[ordinal];
+                clearBit(Facet.STATUS, values[Facet.STATUS.ordinal()], ordinal);
+                values[Facet.STATUS.ordinal()] = status.name();
+                bitmap(Facet.STATUS, status.name()).set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 필터에 맞는 도서 id (번호 순, 최대 limit 건), 전체 건수, 항목별 값별 건수
+     */
+    public Result browse(Map<Facet, Set<String>> filters, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, BitSet> selected = new EnumMap<>(Facet.class);
+            filters.forEach((facet, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    selected.put(facet, union(facet, values));
+                }
+            });
+
+            BitSet matched = intersect(selected, null);
+            List<Long> ids = new ArrayList<>(Math.min(limit, matched.cardinality()));
+            for (int i = matched.nextSetBit(0); i >= 0 && ids.size() < limit; i = matched.nextSetBit(i + 1)) {
+                ids.add(idByOrdinal[i]);
+            }
+
+            Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                BitSet others = intersect(selected, facet);
+                Map<String, Integer> facetCounts = new TreeMap<>();
+                bitmaps.get(facet).forEach((value, bitmap) -> {
+                    BitSet and = (BitSet) bitmap.clone();
+                    and.and(others);
+                    if (!and.isEmpty()) {
+                        facetCounts.put(value, and.cardinality());
+                    }
+                });
+                counts.put(facet, facetCounts);
+            }
+            return new Result(matched.cardinality(), ids, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 항목별로 도서가 하나 이상 있는 값
+    Set<String> values(Facet facet) {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(bitmaps.get(facet).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 전체에서 시작해 선택된 항목들을 AND (excluded 항목은 건너뜀)
+    private BitSet intersect(Map<Facet, BitSet> selected, Facet excluded) {
+        BitSet result = (BitSet) live.clone();
+        selected.forEach((facet, bitmap) -> {
+            if (facet != excluded) {
+                result.and(bitmap);
+            }
+        });
+        return result;
+    }
+
+    // 같은 항목 안의 값들은 OR
+    private BitSet union(Facet facet, Set<String> values) {
+        BitSet result = new BitSet();
+        for (String value : values) {
+            BitSet bitmap = bitmaps.get(facet).get(value);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private int allocate(Long id) {
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        if (ordinal >= idByOrdinal.length) {
+            int length = idByOrdinal.length * 2;
+            idByOrdinal = Arrays.copyOf(idByOrdinal, length);
+            valuesByOrdinal = Arrays.copyOf(valuesByOrdinal, length);
+        }
+        idByOrdinal[ordinal] = id;
+        ordinalById.put(id, ordinal);
+        live.set(ordinal);
+        return ordinal;
+    }
+
+    private void setBits(int ordinal) {
+        String[] values = valuesByOrdinal[ordinal];
+        for (Facet facet : Facet.values()) {
+            String value = values[facet.ordinal()];
+            if (value != null) {
+                bitmap(facet, value).set(ordinal);
+            }
+        }
+    }
+
+    private void clearBits(int ordinal) {
+        String[] values = valuesByOrdinal[ordinal];
+        for (Facet facet : Facet.values()) {
+            clearBit(facet, values[facet.ordinal()], ordinal);
+        }
+    }
+
+    // 비게 된 값의 BitSet 은 지운다 (값 종류가 바뀌어도 빈 BitSet 이 쌓이지 않게)
+    private void clearBit(Facet facet, String value, int ordinal) {
+        BitSet bitmap = value == null ? null : bitmaps.get(facet).get(value);
+        if (bitmap != null) {
+            bitmap.clear(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.get(facet).remove(value);
+            }
+        }
+    }
+
+    private BitSet bitmap(Facet facet, String value) {
+        return bitmaps.get(facet).computeIfAbsent(value, key -> new BitSet());
+    }
+
+    public record Result(int total, List<Long> ids, Map<Facet, Map<String, Integer>> counts) {
+    }
+}
@@ -0,0 +1,358 @@
+package com.study.manca.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.manca.dto.BookImportResponse;
+import com.study.manca.dto.BookRequest;
+import com.study.manca.entity.Book;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 도서 일괄 등록
+ * CSV / JSON Lines 를 한 줄씩 읽어서 BATCH_SIZE 단위로 검증하고 여러 행 INSERT 한 번으로 넣는다.
+ * Book 은 IDENTITY 전략이라 Hibernate 는 INSERT 를 묶어 보내지 못하므로 JdbcTemplate 을 직접 쓴다.
+ * 이미 있는 도서코드는 ON CONFLICT 로 건너뛰고, 실제로 들어간 행은 RETURNING 으로 받는다.
+ * batch 마다 트랜잭션을 따로 잡기 때문에 한 batch 가 실패해도 그 batch 의 행만 실패로 남기고 나머지는 등록된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO books (book_code, title, author, publisher, volume, genre, status, condition, location, remarks, created_at, updated_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CONFLICT = " ON CONFLICT (book_code) DO NOTHING RETURNING id, book_code";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookChangePublisher bookChangePublisher;
+    private final ObjectMapper objectMapper;
+
+    // CSV: 첫 줄은 헤더 (bookCode,title,author,publisher,volume,genre,status,condition,location,remarks)
+    public BookImportResponse importCsv(InputStream in) {
+        ImportResult result = new ImportResult();
+        try (BufferedReader reader = reader(in)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return result.toResponse();
+            }
+            Map<String, Integer> columns = columns(parseCsvLine(stripBom(header)));
+            List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.total++;
+                try {
+                    batch.add(new ImportRow(lineNumber, toRequest(parseCsvLine(line), columns)));
+                } catch (IllegalArgumentException e) {
+                    result.fail(lineNumber, null, e.getMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    flush(batch, result);
+                }
+            }
+            flush(batch, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toResponse();
+    }
+
+    // JSON Lines: 한 줄에 BookRequest 하나
+    public BookImportResponse importJsonLines(InputStream in) {
+        ImportResult result = new ImportResult();
+        try (BufferedReader reader = reader(in)) {
+            List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.total++;
+                try {
+                    BookRequest request = objectMapper.readValue(stripBom(line), BookRequest.class);
+                    if (request == null) {
+                        result.fail(lineNumber, null, "empty row");
+                    } else {
+                        batch.add(new ImportRow(lineNumber, request));
+                    }
+                } catch (JsonProcessingException e) {
+                    result.fail(lineNumber, null, "invalid JSON: " + e.getOriginalMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    flush(batch, result);
+                }
+            }
+            flush(batch, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toResponse();
+    }
+
+    private void flush(List<ImportRow> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 1. 행 단위 검증 + 파일 안에서의 도서코드 중복 확인
+        List<ImportRow> valid = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            String error = validate(row.request());
+            if (error == null && !result.seenCodes.add(row.request().getBookCode())) {
+                error = "duplicate bookCode in file";
+            }
+            if (error != null) {
+                result.fail(row.line(), row.request().getBookCode(), error);
+            } else {
+                valid.add(row);
+            }
+        }
+        batch.clear();
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // 2. 여러 행 INSERT 한 번 - 이미 있는 도서코드는 건너뛰고 실제로 들어간 행의 id 를 돌려받는다
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<String, Long> inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> insert(valid, now));
+        } catch (DataAccessException e) {
+            // 이 batch 는 롤백됐다 - 앞 batch 에서 등록된 행은 그대로 두고 다음 batch 로 넘어간다
+            log.warn("book import batch of {} rows failed", valid.size(), e);
+            for (ImportRow row : valid) {
+                result.fail(row.line(), row.request().getBookCode(), "insert failed: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+
+        List<Book> saved = new ArrayList<>(inserted.size());
+        for (ImportRow row : valid) {
+            Long id = inserted.get(row.request().getBookCode());
+            if (id == null) {
+                result.fail(row.line(), row.request().getBookCode(), "bookCode already exists");
+            } else {
+                saved.add(toBook(id, row.request()));
+            }
+        }
+        result.imported += saved.size();
+        saved.forEach(bookChangePublisher::saved);
+    }
+
+    // 도서코드 -> 새 id
+    private Map<String, Long> insert(List<ImportRow> rows, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        String sql = INSERT_SQL + String.join(", ", Collections.nCopies(rows.size(), INSERT_ROW)) + INSERT_CONFLICT;
+        Map<String, Long> inserted = new HashMap<>();
+        jdbcTemplate.query(sql, ps -> {
+            int index = 1;
+            for (ImportRow row : rows) {
+                BookRequest request = row.request();
+                ps.setString(index++, request.getBookCode());
+                ps.setString(index++, request.getTitle());
+                ps.setString(index++, request.getAuthor());
+                ps.setString(index++, request.getPublisher());
+                ps.setInt(index++, request.getVolume());
+                ps.setString(index++, request.getGenre());
+                ps.setString(index++, statusOf(request).name());
+                ps.setString(index++, conditionOf(request).name());
+                ps.setString(index++, request.getLocation());
+                ps.setString(index++, request.getRemarks());
+                ps.setTimestamp(index++, timestamp);
+                ps.setTimestamp(index++, timestamp);
+            }
+        }, rs -> {
+            inserted.put(rs.getString("book_code"), rs.getLong("id"));
+        });
+        return inserted;
+    }
+
+    // 색인/캐시 알림용 - INSERT 에 넣은 값 그대로 (다시 읽지 않음)
+    private static Book toBook(Long id, BookRequest request) {
+        return Book.builder()
+                .id(id)
+                .bookCode(request.getBookCode())
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .publisher(request.getPublisher())
+                .volume(request.getVolume())
+                .genre(request.getGenre())
+                .status(statusOf(request))
+                .condition(conditionOf(request))
+                .location(request.getLocation())
+                .remarks(request.getRemarks())
+                .build();
+    }
+
+    private static Book.BookStatus statusOf(BookRequest request) {
+        return request.getStatus() == null ? Book.BookStatus.AVAILABLE : request.getStatus();
+    }
+
+    private static Book.BookCondition conditionOf(BookRequest request) {
+        return request.getCondition() == null ? Book.BookCondition.GOOD : request.getCondition();
+    }
+
+    // 컬럼 길이는 init.sql 의 books 테이블 정의를 따른다
+    private static String validate(BookRequest request) {
+        String error = required("bookCode", request.getBookCode(), 50);
+        if (error == null) error = required("title", request.getTitle(), 200);
+        if (error == null) error = required("author", request.getAuthor(), 100);
+        if (error == null) error = required("publisher", request.getPublisher(), 100);
+        if (error == null) error = required("genre", request.getGenre(), 50);
+        if (error == null) error = maxLength("location", request.getLocation(), 50);
+        if (error == null) error = maxLength("remarks", request.getRemarks(), 1000);
+        if (error == null && (request.getVolume() == null || request.getVolume() < 1
+                || request.getVolume() > BookRequest.MAX_VOLUME)) {
+            error = "volume must be between 1 and " + BookRequest.MAX_VOLUME;
+        }
+        return error;
+    }
+
+    private static String required(String name, String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return name + " is required";
+        }
+        return maxLength(name, value, maxLength);
+    }
+
+    private static String maxLength(String name, String value, int maxLength) {
+        return value != null && value.length() > maxLength ? name + " is longer than " + maxLength : null;
+    }
+
+    private static BookRequest toRequest(List<String> values, Map<String, Integer> columns) {
+        String volume = value(values, columns, "volume");
+        String status = value(values, columns, "status");
+        String condition = value(values, columns, "condition");
+        try {
+            return new BookRequest(
+                    value(values, columns, "bookcode"),
+                    value(values, columns, "title"),
+                    value(values, columns, "author"),
+                    value(values, columns, "publisher"),
+                    volume == null ? null : Integer.valueOf(volume),
+                    value(values, columns, "genre"),
+                    status == null ? null : Book.BookStatus.valueOf(status.toUpperCase(Locale.ROOT)),
+                    condition == null ? null : Book.BookCondition.valueOf(condition.toUpperCase(Locale.ROOT)),
+                    value(values, columns, "location"),
+                    value(values, columns, "remarks"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("volume must be a number: " + volume);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown status or condition: " + status + ", " + condition);
+        }
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // 헤더 이름은 대소문자와 '_' 를 무시한다 (bookCode, book_code, BOOK_CODE 모두 허용)
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("bookcode")) {
+            throw new IllegalArgumentException("CSV header must contain bookCode");
+        }
+        return columns;
+    }
+
+    // RFC 4180 의 한 줄 (따옴표 안의 쉼표, "" 이스케이프 지원. 여러 줄에 걸친 값은 지원하지 않음)
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    // 엑셀에서 저장한 UTF-8 CSV 는 BOM 으로 시작한다
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private record ImportRow(int line, BookRequest request) {
+    }
+
+    private static final class ImportResult {
+
+        private final Set<String> seenCodes = new HashSet<>();
+        private final List<BookImportResponse.RowError> errors = new ArrayList<>();
+        private int total;
+        private int imported;
+        private int failed;
+
+        void fail(int line, String bookCode, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportResponse.RowError(line, bookCode, message));
+            }
+        }
+
+        BookImportResponse toResponse() {
+            return new BookImportResponse(total, imported, failed, errors);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import com.study.manca.repository.BookRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 기동 시 도서 메모리 인덱스 적재
+ * 검색 인덱스, facet 인덱스, 시리즈 현황, 상태 카운터가 각자 전체 도서를 읽지 않도록
+ * books 테이블을 한 번만 흘려 읽으면서 (엔티티가 아닌 생성자 표현식) 도서마다 각 인덱스의 onSaved 로 넘긴다.
+ */
+@Component
+public class BookIndexLoader {
+
+    private final BookRepository bookRepository;
+    private final List<BookChangeListener> indexes;
+
+    public BookIndexLoader(BookRepository bookRepository,
+                           BookSearchIndex bookSearchIndex,
+                           BookFacetIndex bookFacetIndex,
+                           SeriesAvailabilityIndex seriesAvailabilityIndex,
+                           BookStatsCounters bookStatsCounters) {
+        this.bookRepository = bookRepository;
+        this.indexes = List.of(bookSearchIndex, bookFacetIndex, seriesAvailabilityIndex, bookStatsCounters);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Book> books = bookRepository.streamAllForIndex()) {
+            books.forEach(book -> indexes.forEach(index -> index.onSaved(book)));
+        }
+    }
+}
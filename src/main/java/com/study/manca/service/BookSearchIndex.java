@@ -0,0 +1,290 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도서 검색 인덱스
+ * 제목/작가/출판사/장르를 음절 단위 n-gram 으로 쪼갠 역색인을 메모리에 둔다.
+ * - 한 글자 검색어는 unigram, 두 글자 이상은 bigram 교집합으로 후보를 찾고 부분 문자열로 한 번 더 확인한다.
+ * - 초성만 입력하면 (예: ㅇㅍㅅ) 초성 문자열에서 찾는다.
+ * 기동 시에는 BookIndexLoader 가 전체 도서를 넣어 주고, 이후 도서 등록/수정/삭제가 커밋될 때마다 해당 도서만 다시 색인한다.
+ */
+@Component
+public class BookSearchIndex implements BookChangeListener {
+
+    private static final char HANGUL_BEGIN = '가';
+    private static final char HANGUL_END = '힣';
+    private static final int JUNGSEONG_JONGSEONG_COUNT = 21 * 28;
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    // 검색 결과 순서 (제목, 권수, 같으면 id)
+    private static final Comparator<Document> ORDER = Comparator.comparing(Document::title)
+            .thenComparingInt(Document::volume)
+            .thenComparingLong(Document::id);
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void onSaved(Book book) {
+        index(book);
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        remove(id);
+    }
+
+    public void index(Book book) {
+        Document document = Document.of(book);
+        lock.writeLock().lock();
+        try {
+            removeInternal(book.getId());
+            documents.put(document.id(), document);
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(document.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어를 포함하는 도서 id 를 제목, 권수 순으로 최대 limit 건 반환
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean choseongOnly = isChoseongOnly(normalized);
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(normalized);
+            // 일치하는 건 전체를 정렬하지 않고, 순서를 뒤집은 heap 에 앞쪽 limit 건만 남긴다
+            PriorityQueue<Document> top = new PriorityQueue<>(Math.max(1, Math.min(limit, candidates.length)), ORDER.reversed());
+            for (long id : candidates) {
+                Document document = documents.get(id);
+                if (document == null || !document.contains(normalized, choseongOnly)) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(document);
+                } else if (ORDER.compare(document, top.peek()) < 0) {
+                    top.poll();
+                    top.add(document);
+                }
+            }
+            List<Document> matched = new ArrayList<>(top);
+            matched.sort(ORDER);
+            return matched.stream().map(Document::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] candidates(String normalized) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(normalized)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        // 가장 짧은 목록부터 교집합
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+    private void removeInternal(Long id) {
+        Document old = documents.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String gram : old.grams()) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // 소문자로 바꾸고 글자/숫자만 남긴다 (띄어쓰기, 특수문자 무시)
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        text.toLowerCase().codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    // 완성형 한글 음절은 초성으로 바꾸고 나머지 글자는 그대로 둔다
+    static String choseong(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (char c : normalized.toCharArray()) {
+            if (c >= HANGUL_BEGIN && c <= HANGUL_END) {
+                sb.append(CHOSEONG[(c - HANGUL_BEGIN) / JUNGSEONG_JONGSEONG_COUNT]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isChoseongOnly(String normalized) {
+        for (char c : normalized.toCharArray()) {
+            if (Arrays.binarySearch(CHOSEONG, c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 한 글자면 unigram, 그 외에는 bigram
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized.length() == 1) {
+            grams.add(normalized);
+            return grams;
+        }
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private record Document(long id, String title, int volume, String[] fields, String[] choseongFields) {
+
+        static Document of(Book book) {
+            String[] fields = {
+                    normalize(book.getTitle()),
+                    normalize(book.getAuthor()),
+                    normalize(book.getPublisher()),
+                    normalize(book.getGenre())
+            };
+            String[] choseongFields = Arrays.stream(fields).map(BookSearchIndex::choseong).toArray(String[]::new);
+            return new Document(book.getId(), book.getTitle(), book.getVolume(), fields, choseongFields);
+        }
+
+        // 색인어: 각 필드의 unigram + bigram, 초성 문자열의 bigram
+        Set<String> grams() {
+            Set<String> grams = new LinkedHashSet<>();
+            for (String field : fields) {
+                for (int i = 0; i < field.length(); i++) {
+                    grams.add(field.substring(i, i + 1));
+                }
+                grams.addAll(BookSearchIndex.grams(field));
+            }
+            for (String field : choseongFields) {
+                for (int i = 0; i < field.length(); i++) {
+                    grams.add(field.substring(i, i + 1));
+                }
+                grams.addAll(BookSearchIndex.grams(field));
+            }
+            return grams;
+        }
+
+        boolean contains(String normalized, boolean choseongOnly) {
+            for (String field : choseongOnly ? choseongFields : fields) {
+                if (field.contains(normalized)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 정렬된 id 목록
+     * id 는 대부분 증가하는 순서로 들어오므로 뒤에 붙이는 경우가 대부분이다.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        // 정렬된 두 배열의 교집합
+        long[] intersect(long[] other) {
+            long[] result = new long[Math.min(size, other.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.length) {
+                if (ids[i] < other[j]) {
+                    i++;
+                } else if (ids[i] > other[j]) {
+                    j++;
+                } else {
+                    result[n++] = ids[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+}
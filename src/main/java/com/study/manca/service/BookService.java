@@ -1,52 +1,114 @@
 package com.study.manca.service;
 
+import com.study.manca.dto.BookBrowseResponse;
 import com.study.manca.dto.BookRequest;
 import com.study.manca.dto.BookResponse;
+import com.study.manca.dto.BookScanResponse;
 import com.study.manca.dto.BookUpdateRequest;
+import com.study.manca.dto.CursorResponse;
 import com.study.manca.dto.MemberRequest;
 import com.study.manca.entity.Book;
+import com.study.manca.exception.BookNotAvailableException;
 import com.study.manca.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_SIZE = 100;
+
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCatalogCache bookCatalogCache;
+    private final BookChangePublisher bookChangePublisher;
+    private final BookFacetIndex bookFacetIndex;
+    private final ReservationService reservationService;
+
+    // 전체 도서 커서 페이지 조회 (GET) - after 다음 id 부터 limit 건
+    public CursorResponse<BookResponse> findPage(int limit, Long after) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<BookResponse> rows = bookRepository
+                .findResponsePage(after == null ? 0L : after, PageRequest.of(0, size + 1));
+        return CursorResponse.of(rows, size, BookResponse::getId);
+    }
+
+    // 전체 도서 스트리밍 조회 - DTO 로 바로 읽기 때문에 영속성 컨텍스트에 쌓이지 않아 메모리가 일정하다
+    public void streamAll(Consumer<BookResponse> consumer) {
+        try (Stream<BookResponse> books = bookRepository.streamAllResponses()) {
+            books.forEach(consumer);
+        }
+    }
 
-    // 전체 사용자 조회 (GET)
-    public List<BookResponse> findAll() {
-        return bookRepository.findAll().stream()
-                .map(BookResponse::from)
-                .collect(Collectors.toList());
+    // 제목/작가/출판사/장르 검색 (GET) - 메모리 색인에서 id 를 찾고 PK 로만 조회
+    public List<BookResponse> search(String query, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_SEARCH_SIZE);
+        List<Long> ids = bookSearchIndex.search(query, size);
+        Map<Long, BookCatalogCache.CatalogEntry> books = bookCatalogCache.getAll(ids);
+        return bookCatalogCache.toResponses(ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    // 장르/서가위치/책 상태/대여상태로 서가 탐색 (GET) - facet 비트맵으로 필터와 건수를 계산
+    public BookBrowseResponse browse(Map<BookFacetIndex.Facet, Set<String>> filters, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_SEARCH_SIZE);
+        BookFacetIndex.Result result = bookFacetIndex.browse(filters, size);
+        Map<Long, BookCatalogCache.CatalogEntry> books = bookCatalogCache.getAll(result.ids());
+        List<BookResponse> items = bookCatalogCache.toResponses(result.ids().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.name().toLowerCase(), counts));
+        return new BookBrowseResponse(result.total(), items, facets);
     }
 
     // 특정 사용자 조회 (GET)
     public BookResponse findById(Long id) {
-        Book book = bookRepository.findById(id)
+        return bookCatalogCache.get(id)
+                                    .map(bookCatalogCache::toResponse)
                                     .orElseThrow(()
                                     -> new IllegalArgumentException("Book not found with id: " + id));
+    }
 
-        return BookResponse.from(book);
+    // 바코드 스캔 조회 (GET) - 카탈로그 캐시에서 만들므로 ETag 가 같은 재조회(304)는 DB 를 읽지 않는다
+    public BookScanResponse findByBookCode(String bookCode) {
+        return bookCatalogCache.getByBookCode(bookCode)
+                                    .map(BookCatalogCache.CatalogEntry::toScanResponse)
+                                    .orElseThrow(()
+                                    -> new IllegalArgumentException("Book not found with bookCode: " + bookCode));
     }
 
     // 사용자 생성 (POST)
     @Transactional
     public void create(BookRequest request) {
         // 이메일 중복 확인
-        if (bookRepository.existsByBookCode(request.getBookCode())) {
+        if (bookCatalogCache.existsByBookCode(request.getBookCode())) {
             throw new IllegalArgumentException("BookCode already exists: " + request.getBookCode());
         }
 
-        Book book = request.toEntity();
-        bookRepository.save(book);
+        Book book = bookRepository.save(request.toEntity());
+        bookChangePublisher.saved(book);
     }
 
     //Update 목적: 기본 정보 update 이 아닌 상태를 update 하기 위한 method 다
@@ -59,11 +121,23 @@ public class BookService {
         if (!book.getBookCode().equals(request.getBookCode())) {
             throw new IllegalArgumentException("BookCode does not match request code: " + request.getBookCode());
         }
+        Book.BookStatus previous = book.getStatus();
         book.setVolume(request.getVolume());
         book.setStatus(request.getStatus());
         book.setCondition(request.getCondition());
         book.setLocation(request.getLocation());
         book.setRemarks(request.getRemarks());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // 보관중이던 도서를 다른 상태로 바꾸면 보관하던 예약을 취소한다
+        if (previous == Book.BookStatus.RESERVED && book.getStatus() != Book.BookStatus.RESERVED) {
+            reservationService.withdraw(id, now);
+        }
+        // 대여 가능으로 돌린 도서에 예약 대기자가 있으면 같은 트랜잭션에서 보관한다
+        if (previous != Book.BookStatus.AVAILABLE && book.getStatus() == Book.BookStatus.AVAILABLE
+                && !reservationService.hold(List.of(id), now).isEmpty()) {
+            book.setStatus(Book.BookStatus.RESERVED);
+        }
+        bookChangePublisher.saved(book);
 
         return BookResponse.from(book);
     }
@@ -74,22 +148,39 @@ public class BookService {
             throw new IllegalArgumentException("Book not found with id: " + id);
         }
         bookRepository.deleteById(id);
+        bookChangePublisher.deleted(id);
     }
 
-    public boolean checkAllAvailable(List<Long> bookIds) {
+    // 대여 처리: AVAILABLE 인 도서를 한 번의 UPDATE 로 RENTED 로 바꾼다.
+    // 한 권이라도 이미 대여중이면 어떤 책이 안 되는지 알려주고 트랜잭션 전체를 되돌린다 (all-or-nothing)
+    @Transactional
+    public void checkout(Collection<Long> bookIds, LocalDateTime now) {
+        checkout(bookIds, now, Book.BookStatus.AVAILABLE);
+    }
 
-        return bookRepository.findAllById(bookIds).stream()
-                .allMatch(book -> Book.BookStatus.AVAILABLE.equals(book.getStatus()));
+    // 예약 대여는 RESERVED(보관중) 상태에서 대여한다
+    @Transactional
+    public void checkout(Collection<Long> bookIds, LocalDateTime now, Book.BookStatus from) {
+        List<Long> updated = bookRepository.updateStatusIfMatches(bookIds, from, Book.BookStatus.RENTED, now);
+        if (updated.size() != bookIds.size()) {
+            Set<Long> unavailable = new LinkedHashSet<>(bookIds);
+            updated.forEach(unavailable::remove);
+            throw new BookNotAvailableException(unavailable);
+        }
+        bookChangePublisher.statusChanged(bookIds, Book.BookStatus.RENTED);
     }
 
-    public List<Book> updateBooksStatus(List<Long> bookIds) {
-        List<Book> books = new ArrayList<>();
-        bookIds.forEach(bookId -> {
-            Book book = bookRepository.findById(bookId)
-                                        .orElseThrow(() -> new IllegalArgumentException("Book not found with id: " + bookId));
-            book.setStatus(Book.BookStatus.AVAILABLE);
-            books.add(book);
-        });
-        return books;
+    // 반납 처리: RENTED 인 도서를 한 번의 UPDATE 로 AVAILABLE 로 되돌린다.
+    // 그 사이 분실/파손 처리된 도서는 건드리지 않는다
+    // 예약 대기자가 있는 도서는 커밋 전에 RESERVED 로 보관되므로 AVAILABLE 로는 알리지 않는다
+    @Transactional
+    public void checkin(Collection<Long> bookIds, LocalDateTime now) {
+        List<Long> changed = bookRepository.updateStatusIfMatches(
+                bookIds, Book.BookStatus.RENTED, Book.BookStatus.AVAILABLE, now);
+        Set<Long> held = reservationService.hold(changed, now);
+        List<Long> available = changed.stream().filter(id -> !held.contains(id)).toList();
+        if (!available.isEmpty()) {
+            bookChangePublisher.statusChanged(available, Book.BookStatus.AVAILABLE);
+        }
     }
 }
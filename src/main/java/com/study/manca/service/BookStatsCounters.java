@@ -0,0 +1,191 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.BookStatsResponse;
+import com.study.manca.entity.Book;
+import com.study.manca.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 도서 상태 카운터
+ * init.sql 의 book_stats 뷰(전체 스캔)를 대신해서 상태별/장르별 권 수를 LongAdder 로 들고 있는다.
+ * 도서마다 마지막으로 본 (장르, 상태)를 기억해 두고 변경이 오면 이전 칸을 빼고 새 칸을 더한다.
+ * 같은 상태로의 변경은 무시되므로 같은 알림을 두 번 받아도 숫자가 틀어지지 않는다.
+ * 주기적으로 DB 의 GROUP BY 결과와 비교해서 어긋나 있으면 다시 적재한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookStatsCounters implements BookChangeListener {
+
+    private static final Book.BookStatus[] STATUSES = Book.BookStatus.values();
+
+    private final BookRepository bookRepository;
+
+    private final Map<Long, Tracked> books = new ConcurrentHashMap<>();
+    private final LongAdder[] byStatus = newCounters();
+    private final Map<String, LongAdder[]> byGenre = new ConcurrentHashMap<>();
+
+    // 변경 반영은 여럿이 동시에(read lock), 다시 적재할 때만 단독으로(write lock)
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 처음부터 다시 센다 - 기동 시 적재는 BookIndexLoader 가 onSaved 로 넣어 준다
+    @Transactional(readOnly = true)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            byGenre.clear();
+            for (LongAdder counter : byStatus) {
+                counter.reset();
+            }
+            try (Stream<Book> stream = bookRepository.streamAllForIndex()) {
+                stream.forEach(book -> apply(book.getId(), book.getGenre(), book.getStatus()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // DB 와 비교해서 어긋나 있으면 다시 적재 (커밋 후 알림이 유실된 경우 등)
+    @Scheduled(initialDelayString = "${manca.book-stats.reconcile-delay-ms:300000}",
+            fixedDelayString = "${manca.book-stats.reconcile-delay-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<String, long[]> expected = new HashMap<>();
+        for (Object[] row : bookRepository.countByGenreAndStatus()) {
+            String genre = (String) row[0];
+            Book.BookStatus status = (Book.BookStatus) row[1];
+            expected.computeIfAbsent(genre, key -> new long[STATUSES.length])[status.ordinal()] = (Long) row[2];
+        }
+        if (!matches(expected)) {
+            log.warn("book stats drifted from database, reloading");
+            load();
+        }
+    }
+
+    @Override
+    public void onSaved(Book book) {
+        withReadLock(() -> apply(book.getId(), book.getGenre(), book.getStatus()));
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        withReadLock(() -> books.computeIfPresent(id, (key, old) -> {
+            count(old, -1);
+            return null;
+        }));
+    }
+
+    @Override
+    public void onStatusChanged(Collection<Long> ids, Book.BookStatus status) {
+        withReadLock(() -> ids.forEach(id -> books.computeIfPresent(id, (key, old) -> {
+            if (old.status() == status) {
+                return old;
+            }
+            Tracked changed = new Tracked(old.genre(), status);
+            count(old, -1);
+            count(changed, 1);
+            return changed;
+        })));
+    }
+
+    public BookStatsResponse snapshot() {
+        Map<String, Long> statuses = toMap(byStatus);
+        Map<String, Map<String, Long>> genres = new TreeMap<>();
+        byGenre.forEach((genre, counters) -> genres.put(genre, toMap(counters)));
+        long total = statuses.values().stream().mapToLong(Long::longValue).sum();
+        return new BookStatsResponse(
+                total,
+                statuses.get(Book.BookStatus.AVAILABLE.name()),
+                statuses.get(Book.BookStatus.RENTED.name()),
+                statuses.get(Book.BookStatus.RESERVED.name()),
+                statuses.get(Book.BookStatus.LOST.name()),
+                statuses.get(Book.BookStatus.DAMAGED.name()),
+                genres);
+    }
+
+    private void apply(Long id, String genre, Book.BookStatus status) {
+        Tracked changed = new Tracked(genre, status);
+        books.compute(id, (key, old) -> {
+            if (changed.equals(old)) {
+                return old;
+            }
+            if (old != null) {
+                count(old, -1);
+            }
+            count(changed, 1);
+            return changed;
+        });
+    }
+
+    private void count(Tracked tracked, int delta) {
+        byStatus[tracked.status().ordinal()].add(delta);
+        byGenre.computeIfAbsent(tracked.genre(), key -> newCounters())[tracked.status().ordinal()].add(delta);
+    }
+
+    private boolean matches(Map<String, long[]> expected) {
+        for (Map.Entry<String, long[]> entry : expected.entrySet()) {
+            LongAdder[] counters = byGenre.get(entry.getKey());
+            for (Book.BookStatus status : STATUSES) {
+                long actual = counters == null ? 0 : counters[status.ordinal()].sum();
+                if (actual != entry.getValue()[status.ordinal()]) {
+                    return false;
+                }
+            }
+        }
+        // DB 에 없는 장르가 메모리에만 남아 있는 경우
+        for (Map.Entry<String, LongAdder[]> entry : byGenre.entrySet()) {
+            if (!expected.containsKey(entry.getKey())) {
+                for (LongAdder counter : entry.getValue()) {
+                    if (counter.sum() != 0) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void withReadLock(Runnable action) {
+        lock.readLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Long> toMap(LongAdder[] counters) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Book.BookStatus status : STATUSES) {
+            map.put(status.name(), counters[status.ordinal()].sum());
+        }
+        return map;
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[STATUSES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    private record Tracked(String genre, Book.BookStatus status) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.study.manca.service;
+
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 동시성 충돌 재시도
+ * 낙관적 락 충돌(@Version), 데드락, 락 대기 실패처럼 다시 하면 성공할 수 있는 실패만 재시도한다.
+ * 대기 시간은 시도마다 두 배로 늘어나는 상한 안에서 무작위로 고른다 (full jitter) -
+ * 같은 책을 두고 부딪친 요청들이 같은 순간에 다시 부딪치지 않게 하기 위함.
+ * 반드시 트랜잭션 바깥에서 호출해야 한다 (시도마다 새 트랜잭션).
+ */
+final class ConcurrencyRetry {
+
+    static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 200;
+
+    private ConcurrencyRetry() {
+    }
+
+    static <T> T run(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                sleep(attempt);
+            }
+        }
+    }
+
+    private static void sleep(int attempt) {
+        long cap = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
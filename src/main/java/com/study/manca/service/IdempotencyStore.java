@@ -0,0 +1,154 @@
+package com.study.manca.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Idempotency-Key 별 처리 결과 저장소
+ * 키오스크가 같은 요청을 다시 보내면 저장해 둔 응답을 그대로 돌려주기 위해 쓴다.
+ * - 메모리: 최대 max-entries 건, ttl 이 지나면 만료되는 LRU
+ * - persistent=true 면 idempotency_keys 테이블에도 남겨서 재기동/메모리에서 밀려난 뒤에도 찾는다
+ * 키마다 요청 지문(fingerprint)을 같이 남기고, 같은 키로 다른 요청이 오면 MISMATCH 로 알려 준다.
+ * 처리 중(in-flight) 표시는 메모리에만 있으므로 여러 대로 띄우면 동시에 들어온 중복은 막지 못한다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public enum State {
+        STARTED,        // 처음 들어온 키 - 처리하고 complete/abandon 을 불러야 한다
+        IN_FLIGHT,      // 같은 키로 처리 중
+        COMPLETED,      // 이미 처리됨 - response 를 그대로 돌려준다
+        MISMATCH        // 같은 키를 다른 요청에 썼다
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final boolean persistent;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            @Value("${manca.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${manca.idempotency.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${manca.idempotency.persistent:false}") boolean persistent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        this.persistent = persistent;
+        this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    public Lookup begin(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                if (!entry.fingerprint().equals(fingerprint)) {
+                    return new Lookup(State.MISMATCH, null);
+                }
+                return entry.response() == null
+                        ? new Lookup(State.IN_FLIGHT, null)
+                        : new Lookup(State.COMPLETED, entry.response());
+            }
+            entries.put(key, new Entry(fingerprint, null, now + ttlMillis));
+        }
+        // 메모리에 없으면 테이블에서 한 번 더 (in-flight 로 잡아 둔 상태라 같은 키가 동시에 조회하지 않는다)
+        if (persistent) {
+            Entry stored;
+            try {
+                stored = load(key, now);
+            } catch (RuntimeException e) {
+                // 잡아 둔 in-flight 를 풀지 않으면 ttl 동안 409 만 돌려주게 된다
+                abandon(key);
+                throw e;
+            }
+            if (stored != null) {
+                synchronized (this) {
+                    entries.put(key, stored);
+                }
+                return stored.fingerprint().equals(fingerprint)
+                        ? new Lookup(State.COMPLETED, stored.response())
+                        : new Lookup(State.MISMATCH, null);
+            }
+        }
+        return new Lookup(State.STARTED, null);
+    }
+
+    // 메모리에 먼저 남기므로 테이블 저장에 실패해도 이 서버에서는 그대로 재생된다
+    public void complete(String key, String fingerprint, StoredResponse response) {
+        synchronized (this) {
+            entries.put(key, new Entry(fingerprint, response, System.currentTimeMillis() + ttlMillis));
+        }
+        if (persistent) {
+            try {
+                jdbcTemplate.update("""
+                                INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, content_type, body, created_at)
+                                VALUES (?, ?, ?, ?, ?, ?)
+                                ON CONFLICT (idempotency_key) DO NOTHING
+                                """,
+                        key, fingerprint, response.status(), response.contentType(), response.body(),
+                        Timestamp.valueOf(LocalDateTime.now()));
+            } catch (DataAccessException e) {
+                log.warn("failed to persist idempotency key {}, kept in memory only", key, e);
+            }
+        }
+    }
+
+    // 실패한 요청은 저장하지 않는다 - 같은 키로 다시 시도할 수 있다
+    public synchronized void abandon(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.response() == null) {
+            entries.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${manca.idempotency.purge-delay-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        if (persistent) {
+            int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?",
+                    Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(ttlMillis))));
+            log.debug("purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Entry load(String key, long now) {
+        List<Entry> rows = jdbcTemplate.query(
+                "SELECT fingerprint, status, content_type, body FROM idempotency_keys " +
+                        "WHERE idempotency_key = ? AND created_at >= ?",
+                (rs, rowNum) -> new Entry(rs.getString(1),
+                        new StoredResponse(rs.getInt(2), rs.getString(3), rs.getBytes(4)), now + ttlMillis),
+                key, new Timestamp(now - ttlMillis));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    public record Lookup(State state, StoredResponse response) {
+    }
+
+    private record Entry(String fingerprint, StoredResponse response, long expiresAt) {
+    }
+}
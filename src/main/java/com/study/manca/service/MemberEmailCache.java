@@ -0,0 +1,99 @@
+package com.study.manca.service;
+
+import com.study.manca.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이메일 -> 회원 id near-cache
+ * 대여/예약/주문마다 이메일로 회원을 찾으므로 id 만 LRU 로 들고 있는다.
+ * 없는 이메일도 (negative entry) negative-ttl-ms 동안 기억해서 같은 오타가 반복돼도 DB 에 가지 않는다.
+ * 키는 소문자로 맞춘 이메일 (members 의 lower(email) 유니크 인덱스와 같은 기준).
+ * 회원 생성/수정/삭제가 커밋되면 관련 이메일을 무효화한다.
+ */
+@Component
+public class MemberEmailCache {
+
+    private static final long MISSING = -1L;
+
+    private final MemberRepository memberRepository;
+    private final int maxSize;
+    private final long negativeTtlMillis;
+
+    private final LinkedHashMap<String, Entry> byEmail;
+
+    // 로딩 중에 무효화가 끼어들면 오래된 값을 넣지 않기 위한 카운터
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public MemberEmailCache(MemberRepository memberRepository,
+                            @Value("${manca.member-email-cache.max-size:10000}") int maxSize,
+                            @Value("${manca.member-email-cache.negative-ttl-ms:30000}") long negativeTtlMillis) {
+        this.memberRepository = memberRepository;
+        this.maxSize = maxSize;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.byEmail = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MemberEmailCache.this.maxSize;
+            }
+        };
+    }
+
+    public Optional<Long> findId(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String key = normalize(email);
+        Entry cached = cached(key);
+        if (cached != null) {
+            return cached.memberId() == MISSING ? Optional.empty() : Optional.of(cached.memberId());
+        }
+        long version = invalidations.get();
+        Optional<Long> memberId = memberRepository.findIdByEmail(key);
+        put(key, new Entry(memberId.orElse(MISSING), System.currentTimeMillis()), version);
+        return memberId;
+    }
+
+    // 커밋 후 무효화 (롤백되면 그대로 둔다)
+    public void evictAfterCommit(String... emails) {
+        TransactionCallbacks.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            synchronized (this) {
+                for (String email : emails) {
+                    if (email != null) {
+                        byEmail.remove(normalize(email));
+                    }
+                }
+            }
+        });
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private synchronized Entry cached(String key) {
+        Entry entry = byEmail.get(key);
+        if (entry != null && entry.memberId() == MISSING
+                && System.currentTimeMillis() - entry.cachedAt() > negativeTtlMillis) {
+            byEmail.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void put(String key, Entry entry, long version) {
+        if (invalidations.get() == version) {
+            byEmail.put(key, entry);
+        }
+    }
+
+    private record Entry(long memberId, long cachedAt) {
+    }
+}
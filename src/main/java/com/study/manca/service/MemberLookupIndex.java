@@ -0,0 +1,176 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.MemberResponse;
+import com.study.manca.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 회원 카운터 조회 인덱스
+ * - 전화번호: 숫자만 남기고 끝 4자리로 묶어 둔다. 4자리 이상 숫자로 찾으면 그 끝 4자리 묶음에서 뒷자리 일치를 확인한다.
+ * - 이름: BookSearchIndex 와 같은 음절 unigram/bigram 역색인, 부분 문자열로 한 번 더 확인한다.
+ * 응답에 필요한 MemberResponse 를 그대로 들고 있어서 조회할 때 DB 에 가지 않는다.
+ * MemberService 의 생성/수정/삭제가 커밋되면 해당 회원만 다시 색인한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberLookupIndex {
+
+    private static final int PHONE_SUFFIX_LENGTH = 4;
+
+    private final MemberRepository memberRepository;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> byPhoneSuffix = new HashMap<>();
+    private final Map<String, Set<Long>> byNameGram = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 기동 시 전체 회원 색인
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<MemberResponse> members = memberRepository.streamAllResponses()) {
+            members.forEach(this::index);
+        }
+    }
+
+    public void index(MemberResponse member) {
+        Document document = Document.of(member);
+        lock.writeLock().lock();
+        try {
+            removeInternal(member.getId());
+            documents.put(member.getId(), document);
+            if (document.phoneSuffix() != null) {
+                byPhoneSuffix.computeIfAbsent(document.phoneSuffix(), key -> new HashSet<>()).add(member.getId());
+            }
+            for (String gram : document.nameGrams()) {
+                byNameGram.computeIfAbsent(gram, key -> new HashSet<>()).add(member.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 숫자만 입력하면 전화번호 뒷자리(4자리 이상), 그 외에는 이름 부분 일치로 찾아서 이름, id 순으로 최대 limit 건 반환
+     */
+    public List<MemberResponse> lookup(String query, int limit) {
+        String normalized = BookSearchIndex.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        boolean digitsOnly = normalized.chars().allMatch(Character::isDigit);
+        if (digitsOnly && normalized.length() < PHONE_SUFFIX_LENGTH) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Document> matched = new ArrayList<>();
+            for (Long id : digitsOnly ? phoneCandidates(normalized) : nameCandidates(normalized)) {
+                Document document = documents.get(id);
+                if (document != null && (digitsOnly
+                        ? document.phoneDigits().endsWith(normalized)
+                        : document.name().contains(normalized))) {
+                    matched.add(document);
+                }
+            }
+            return matched.stream()
+                    .sorted(Comparator.comparing(Document::name)
+                            .thenComparing(document -> document.member().getId()))
+                    .limit(limit)
+                    .map(Document::member)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> phoneCandidates(String digits) {
+        return byPhoneSuffix.getOrDefault(digits.substring(digits.length() - PHONE_SUFFIX_LENGTH), Set.of());
+    }
+
+    private Set<Long> nameCandidates(String normalized) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : BookSearchIndex.grams(normalized)) {
+            Set<Long> list = byNameGram.get(gram);
+            if (list == null) {
+                return Set.of();
+            }
+            lists.add(list);
+        }
+        // 가장 작은 집합부터 교집합
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void removeInternal(Long id) {
+        Document old = documents.remove(id);
+        if (old == null) {
+            return;
+        }
+        if (old.phoneSuffix() != null) {
+            removePosting(byPhoneSuffix, old.phoneSuffix(), id);
+        }
+        for (String gram : old.nameGrams()) {
+            removePosting(byNameGram, gram, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private record Document(MemberResponse member, String name, String phoneDigits) {
+
+        static Document of(MemberResponse member) {
+            String phone = member.getPhone() == null ? "" : member.getPhone().replaceAll("\\D", "");
+            return new Document(member, BookSearchIndex.normalize(member.getName()), phone);
+        }
+
+        String phoneSuffix() {
+            return phoneDigits.length() < PHONE_SUFFIX_LENGTH
+                    ? null : phoneDigits.substring(phoneDigits.length() - PHONE_SUFFIX_LENGTH);
+        }
+
+        // 색인어: 이름의 unigram + bigram
+        Set<String> nameGrams() {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i < name.length(); i++) {
+                grams.add(name.substring(i, i + 1));
+            }
+            grams.addAll(BookSearchIndex.grams(name));
+            return grams;
+        }
+    }
+}
@@ -1,53 +1,78 @@
 package com.study.manca.service;
 
+import com.study.manca.dto.CursorResponse;
 import com.study.manca.dto.MemberResponse;
 import com.study.manca.dto.MemberRequest;
 import com.study.manca.entity.Member;
 import com.study.manca.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class MemberService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_LOOKUP_SIZE = 100;
+    private static final String EMAIL_INDEX = "idx_members_email_lower";  // init.sql 의 lower(email) 유니크 인덱스
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final MemberRepository memberRepository;
+    private final MemberEmailCache memberEmailCache;
+    private final MemberLookupIndex memberLookupIndex;
+
+    // 전체 사용자 커서 페이지 조회 (GET) - after 다음 id 부터 limit 건
+    public CursorResponse<MemberResponse> findPage(int limit, Long after) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<MemberResponse> rows = memberRepository
+                .findResponsePage(after == null ? 0L : after, PageRequest.of(0, size + 1));
+        return CursorResponse.of(rows, size, MemberResponse::getId);
+    }
 
-    // 전체 사용자 조회 (GET)
-    public List<MemberResponse> findAll() {
-        return memberRepository.findAll().stream()
-                .map(MemberResponse::from)
-                .collect(Collectors.toList());
+    // 전체 사용자 스트리밍 조회 - DTO 로 바로 읽기 때문에 영속성 컨텍스트에 쌓이지 않아 메모리가 일정하다
+    public void streamAll(Consumer<MemberResponse> consumer) {
+        try (Stream<MemberResponse> members = memberRepository.streamAllResponses()) {
+            members.forEach(consumer);
+        }
     }
 
     // 특정 사용자 조회 (GET)
     public MemberResponse findById(Long id) {
-        Member member = memberRepository.findById(id)
+        return memberRepository.findResponseById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found with id: " + id));
-        return MemberResponse.from(member);
     }
 
+    // 전화번호 뒷자리/이름 일부로 카운터 조회 (GET) - 메모리 색인에서 바로 응답
+    public List<MemberResponse> lookup(String query, int limit) {
+        return memberLookupIndex.lookup(query, Math.min(Math.max(limit, 1), MAX_LOOKUP_SIZE));
+    }
+
+    // 호출하는 쪽은 id 만 쓰므로 near-cache 의 id 로 프록시만 만든다 (select 없음)
     public Member findByEmail(String email) {
-        return memberRepository.findByEmail(email)
+        return memberEmailCache.findId(email)
+                .map(memberRepository::getReferenceById)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found with email: " + email));
     }
 
     // 사용자 생성 (POST)
+    // 중복 확인을 따로 하지 않고 insert 한 번으로 처리, 이메일 중복은 유니크 인덱스 위반으로 알아낸다
     @Transactional
     public MemberResponse create(MemberRequest request) {
-        // 이메일 중복 확인
-        if (memberRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists: " + request.getEmail());
-        }
-
         Member member = request.toEntity();
-        Member savedUser = memberRepository.save(member);
-        return MemberResponse.from(savedUser);
+        Member savedUser = saveAndFlush(member);
+        memberEmailCache.evictAfterCommit(savedUser.getEmail());
+        MemberResponse response = MemberResponse.from(savedUser);
+        TransactionCallbacks.afterCommit(() -> memberLookupIndex.index(response));
+        return response;
     }
 
     // 사용자 전체 수정 (PUT)
@@ -56,11 +81,16 @@ public class MemberService {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found with id: " + id));
 
+        String oldEmail = member.getEmail();
         member.setName(request.getName());
         member.setEmail(request.getEmail());
         member.setPhone(request.getPhone());
+        saveAndFlush(member);
+        memberEmailCache.evictAfterCommit(oldEmail, member.getEmail());
 
-        return MemberResponse.from(member);
+        MemberResponse response = MemberResponse.from(member);
+        TransactionCallbacks.afterCommit(() -> memberLookupIndex.index(response));
+        return response;
     }
 
     // 사용자 부분 수정 (PATCH)
@@ -69,6 +99,7 @@ public class MemberService {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found with id: " + id));
 
+        String oldEmail = member.getEmail();
         if (request.getName() != null) {
             member.setName(request.getName());
         }
@@ -78,16 +109,44 @@ public class MemberService {
         if (request.getPhone() != null) {
             member.setPhone(request.getPhone());
         }
+        saveAndFlush(member);
+        memberEmailCache.evictAfterCommit(oldEmail, member.getEmail());
 
-        return MemberResponse.from(member);
+        MemberResponse response = MemberResponse.from(member);
+        TransactionCallbacks.afterCommit(() -> memberLookupIndex.index(response));
+        return response;
     }
 
     // 사용자 삭제 (DELETE)
     @Transactional
     public void delete(Long id) {
-        if (!memberRepository.existsById(id)) {
-            throw new IllegalArgumentException("Member not found with id: " + id);
+        Member member = memberRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Member not found with id: " + id));
+        memberRepository.delete(member);
+        memberEmailCache.evictAfterCommit(member.getEmail());
+        TransactionCallbacks.afterCommit(() -> memberLookupIndex.remove(id));
+    }
+
+    // 이메일 유니크 인덱스 위반을 바로 알 수 있게 flush 까지 한다
+    private Member saveAndFlush(Member member) {
+        try {
+            return memberRepository.saveAndFlush(member);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new IllegalArgumentException("Email already exists: " + member.getEmail());
+            }
+            throw e;
+        }
+    }
+
+    // 드라이버 메시지 문구 대신 Hibernate 가 뽑아 준 제약 이름과 SQLState(23505 unique_violation)로 판단한다
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return UNIQUE_VIOLATION.equals(violation.getSQLState())
+                        && EMAIL_INDEX.equalsIgnoreCase(violation.getConstraintName());
+            }
         }
-        memberRepository.deleteById(id);
+        return false;
     }
 }
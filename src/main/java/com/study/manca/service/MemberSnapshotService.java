@@ -0,0 +1,150 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.MemberResponse;
+import com.study.manca.dto.MemberSnapshotResponse;
+import com.study.manca.dto.OrderResponse;
+import com.study.manca.dto.RentalResponse;
+import com.study.manca.dto.SeatResponse;
+import com.study.manca.entity.Order;
+import com.study.manca.entity.Rental;
+import com.study.manca.repository.OrderRepository;
+import com.study.manca.repository.RentalRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 회원 방문 현황 (카운터 화면)
+ * 회원 정보, 사용중인 좌석, 대여중인 도서, 진행중인 주문은 서로 의존하지 않으므로 동시에 조회한다.
+ * 응답 시간은 네 조회의 합이 아니라 가장 느린 조회 하나에 가깝다.
+ * 조회마다 timeout-ms 를 따로 걸고, 시간 안에 못 끝낸 항목은 비워 두고 incomplete 에 이름을 남긴다.
+ * 회원 정보는 필수라서 없으면 예외를 그대로 던진다.
+ * 조회는 전용 스레드 풀에서 실행하고, 풀 크기는 DB 커넥션 풀을 넘지 않게 잡는다.
+ * 시간이 지나도 스레드와 커넥션을 계속 붙잡지 않도록 DB 조회는 timeout 이 걸린 읽기 트랜잭션 안에서 하고
+ * (JDBC query timeout 으로 전달돼서 DB 가 쿼리를 취소한다), 시간 초과된 작업은 interrupt 로 취소한다.
+ */
+@Slf4j
+@Service
+public class MemberSnapshotService {
+
+    private static final List<Rental.RentalStatus> ACTIVE = List.of(Rental.RentalStatus.ACTIVE, Rental.RentalStatus.OVERDUE);
+    private static final List<Order.OrderStatus> OPEN = List.of(Order.OrderStatus.PENDING, Order.OrderStatus.PREPARING);
+    private static final int MAX_ACTIVE_RENTALS = 100;
+
+    private final MemberService memberService;
+    private final SeatOccupancy seatOccupancy;
+    private final RentalRepository rentalRepository;
+    private final OrderRepository orderRepository;
+    private final long timeoutMillis;
+    private final TransactionTemplate readOnly;
+    private final ExecutorService executor;
+
+    public MemberSnapshotService(MemberService memberService,
+                                 SeatOccupancy seatOccupancy,
+                                 RentalRepository rentalRepository,
+                                 OrderRepository orderRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${manca.member-snapshot.threads:8}") int threads,
+                                 @Value("${manca.member-snapshot.timeout-ms:500}") long timeoutMillis) {
+        this.memberService = memberService;
+        this.seatOccupancy = seatOccupancy;
+        this.rentalRepository = rentalRepository;
+        this.orderRepository = orderRepository;
+        this.timeoutMillis = timeoutMillis;
+        // 트랜잭션 timeout 은 초 단위라서 올림한다
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readOnly.setTimeout((int) Math.max(1, (timeoutMillis + 999) / 1000));
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "member-snapshot-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public MemberSnapshotResponse snapshot(Long memberId) {
+        CompletableFuture<MemberResponse> member = fetch(() -> query(() -> memberService.findById(memberId)));
+        CompletableFuture<SeatResponse> seat = fetch(() -> seatOccupancy.findByMember(memberId));
+        CompletableFuture<List<RentalResponse>> rentals = fetch(() -> query(() -> rentalRepository.findMemberPage(
+                memberId, ACTIVE, PageRequest.of(0, MAX_ACTIVE_RENTALS))));
+        CompletableFuture<List<OrderResponse>> orders = fetch(() -> query(
+                () -> orderRepository.findResponsesByMemberId(memberId, OPEN)));
+
+        MemberResponse profile = join(member);
+        List<String> incomplete = new ArrayList<>();
+        return new MemberSnapshotResponse(
+                profile,
+                joinOrNull(seat, "seat", incomplete),
+                joinOrNull(rentals, "activeRentals", incomplete),
+                joinOrNull(orders, "openOrders", incomplete),
+                incomplete);
+    }
+
+    // orTimeout 은 결과만 포기하고 작업은 계속 돌리므로, 시간이 지나면 작업도 취소한다
+    private <T> CompletableFuture<T> fetch(Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // DB 조회 - 트랜잭션 timeout 이 쿼리마다 JDBC query timeout 으로 걸린다
+    private <T> T query(Supplier<T> supplier) {
+        return readOnly.execute(status -> supplier.get());
+    }
+
+    // 필수 항목 - 원래 예외(IllegalArgumentException 등)를 그대로 던진다
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 선택 항목 - 시간 초과/실패면 null 로 두고 이름을 남긴다
+    private static <T> T joinOrNull(CompletableFuture<T> future, String name, List<String> incomplete) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            log.warn("member snapshot {} not available: {}", name, e.getCause().toString());
+            incomplete.add(name);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.OrderRequest;
+import com.study.manca.dto.OrderResponse;
+import com.study.manca.entity.Member;
+import com.study.manca.entity.Menu;
+import com.study.manca.entity.Order;
+import com.study.manca.entity.Seat;
+import com.study.manca.repository.MenuRepository;
+import com.study.manca.repository.OrderRepository;
+import com.study.manca.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final MenuRepository menuRepository;
+    private final SeatRepository seatRepository;
+    private final MemberService memberService;
+    private final PopularityTracker popularityTracker;
+    private final StatusEventHub statusEventHub;
+
+    // 주문 (POST) - 총액은 Order 엔티티가 메뉴 가격 x 수량으로 계산한다
+    @Transactional
+    public OrderResponse create(OrderRequest request) {
+        if (request.getQuantity() == null || request.getQuantity() < 1) {
+            throw new IllegalArgumentException("quantity must be at least 1");
+        }
+        Member member = memberService.findByEmail(request.getEmail());
+        Seat seat = seatRepository.findById(request.getSeatId())
+                .orElseThrow(() -> new IllegalArgumentException("Seat not found with id: " + request.getSeatId()));
+        Menu menu = menuRepository.findById(request.getMenuId())
+                .orElseThrow(() -> new IllegalArgumentException("Menu not found with id: " + request.getMenuId()));
+        if (!Boolean.TRUE.equals(menu.getIsAvailable())) {
+            throw new IllegalArgumentException("Menu is not available: " + menu.getId());
+        }
+
+        Order order = orderRepository.save(Order.builder()
+                .member(member)
+                .seat(seat)
+                .menu(menu)
+                .quantity(request.getQuantity())
+                .orderDateTime(LocalDateTime.now())
+                .remarks(request.getRemarks())
+                .build());
+        popularityTracker.ordered(menu.getName(), order.getQuantity());
+        publishAfterCommit(order);
+        return OrderResponse.from(order);
+    }
+
+    // 주문 상태 변경 (POST) - 완료/취소된 주문은 바꿀 수 없다
+    @Transactional
+    public OrderResponse updateStatus(Long id, Order.OrderStatus status) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
+        if (order.getStatus() == Order.OrderStatus.COMPLETED || order.getStatus() == Order.OrderStatus.CANCELLED) {
+            throw new IllegalArgumentException("Order is already " + order.getStatus() + ": " + id);
+        }
+        if (order.getStatus() != status) {
+            order.setStatus(status);
+            publishAfterCommit(order);
+        }
+        return OrderResponse.from(order);
+    }
+
+    // 주방/키오스크 화면에 커밋된 상태만 알린다
+    private void publishAfterCommit(Order order) {
+        StatusEventHub.Change change = new StatusEventHub.Change(
+                order.getId(), order.getStatus().name(), order.getMember().getId(), order.getSeat().getId());
+        TransactionCallbacks.afterCommit(() -> statusEventHub.publish(StatusEvent.Type.ORDER, change));
+    }
+
+    // 특정 주문 조회 (GET)
+    public OrderResponse findById(Long id) {
+        return orderRepository.findResponseById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
+    }
+}
@@ -0,0 +1,103 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.PopularItemResponse;
+import com.study.manca.repository.OrderRepository;
+import com.study.manca.repository.RentalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 인기 제목/메뉴 집계 (매장 현황판용)
+ * 몇 초마다 rentals/orders 를 GROUP BY 하는 대신 대여/주문이 커밋될 때마다 WindowedTopK 에 더한다.
+ * - 제목: 최근 7일 (하루 칸 7개)
+ * - 메뉴: 최근 24시간 (한 시간 칸 24개), 수량만큼 가중치
+ * 기동 시 창 안의 기록을 DB 에서 한 번 읽어 채운다.
+ */
+@Slf4j
+@Component
+public class PopularityTracker {
+
+    private static final Duration TITLE_BUCKET = Duration.ofDays(1);
+    private static final int TITLE_BUCKETS = 7;
+    private static final Duration MENU_BUCKET = Duration.ofHours(1);
+    private static final int MENU_BUCKETS = 24;
+
+    private final RentalRepository rentalRepository;
+    private final OrderRepository orderRepository;
+    private final WindowedTopK<String> titles;
+    private final WindowedTopK<String> menus;
+
+    public PopularityTracker(RentalRepository rentalRepository,
+                             OrderRepository orderRepository,
+                             @Value("${manca.popularity.capacity:256}") int capacity) {
+        this.rentalRepository = rentalRepository;
+        this.orderRepository = orderRepository;
+        this.titles = new WindowedTopK<>(TITLE_BUCKET, TITLE_BUCKETS, capacity);
+        this.menus = new WindowedTopK<>(MENU_BUCKET, MENU_BUCKETS, capacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        try (Stream<Object[]> rows = rentalRepository.streamTitlesSince(
+                now.minus(TITLE_BUCKET.multipliedBy(TITLE_BUCKETS)))) {
+            rows.forEach(row -> titles.add((String) row[0], 1, instant((LocalDateTime) row[1])));
+        }
+        try (Stream<Object[]> rows = orderRepository.streamMenuQuantitiesSince(
+                now.minus(MENU_BUCKET.multipliedBy(MENU_BUCKETS)))) {
+            rows.forEach(row -> menus.add((String) row[0], (Integer) row[1], instant((LocalDateTime) row[2])));
+        }
+    }
+
+    /**
+     * 대여된 제목들 (커밋 후 반영)
+     */
+    public void rented(Collection<String> rentedTitles) {
+        List<String> copy = List.copyOf(rentedTitles);
+        TransactionCallbacks.afterCommit(() -> {
+            Instant now = Instant.now();
+            copy.forEach(title -> titles.add(title, 1, now));
+        });
+    }
+
+    /**
+     * 주문된 메뉴 (커밋 후 반영)
+     */
+    public void ordered(String menuName, int quantity) {
+        TransactionCallbacks.afterCommit(() -> menus.add(menuName, quantity, Instant.now()));
+    }
+
+    public List<PopularItemResponse> topTitles(int limit) {
+        return toResponse(titles.top(limit, Instant.now()));
+    }
+
+    public List<PopularItemResponse> topMenus(int limit) {
+        return toResponse(menus.top(limit, Instant.now()));
+    }
+
+    private static List<PopularItemResponse> toResponse(List<WindowedTopK.Entry<String>> entries) {
+        List<PopularItemResponse> result = new ArrayList<>(entries.size());
+        for (WindowedTopK.Entry<String> entry : entries) {
+            result.add(new PopularItemResponse(result.size() + 1, entry.key(), entry.count(), entry.error()));
+        }
+        return result;
+    }
+
+    private static Instant instant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
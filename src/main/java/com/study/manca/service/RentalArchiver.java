@@ -0,0 +1,51 @@
+package com.study.manca.service;
+
+import com.study.manca.repository.RentalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 반납 이력 보관
+ * 반납 후 retention-days 가 지난 대여 건을 rentals 에서 rentals_archive 로 batch-size 건씩 옮긴다.
+ * rentals 에는 대여중/연체중과 최근 반납 건만 남아서 인덱스가 작게 유지된다.
+ * batch 마다 트랜잭션을 따로 잡아서 한 번에 오래 잠그지 않는다.
+ */
+@Slf4j
+@Component
+public class RentalArchiver {
+
+    private final RentalRepository rentalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public RentalArchiver(RentalRepository rentalRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${manca.rental-archive.retention-days:30}") int retentionDays,
+                          @Value("${manca.rental-archive.batch-size:1000}") int batchSize) {
+        this.rentalRepository = rentalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${manca.rental-archive.delay-ms:3600000}",
+            fixedDelayString = "${manca.rental-archive.delay-ms:3600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        Integer moved;
+        do {
+            moved = transactionTemplate.execute(status -> rentalRepository.archiveReturnedBefore(cutoff, batchSize));
+            total += moved == null ? 0 : moved;
+        } while (moved != null && moved == batchSize);
+        if (total > 0) {
+            log.info("archived {} rentals returned before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+
+import java.time.Instant;
+
+/**
+ * 대여 이벤트 저널의 한 건
+ * 알 수 없는 id 는 null (예: 연체 처리 시점의 회원 ID)
+ */
+public record RentalEvent(long sequence, Instant timestamp, Type type,
+                          Long rentalId, Long bookId, Long memberId, Book.BookStatus bookStatus) {
+
+    public enum Type {
+        RENTED,         // 대여
+        RETURNED,       // 반납
+        OVERDUE,        // 연체 전환
+        BOOK_STATUS     // 도서 상태 변경
+    }
+}
@@ -0,0 +1,277 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 대여/도서 상태 이벤트 저널
+ * DB 에는 현재 상태만 남으므로, 상태가 바뀐 이력을 append-only 바이너리 파일에 따로 남긴다 (감사/분석용).
+ * - 고정 길이(48 byte) 레코드를 memory-mapped 세그먼트 파일에 순서대로 쓴다. 세그먼트가 차면 새 파일로 넘어간다.
+ * - fsync 는 건마다 하지 않고 flush-interval 마다 모아서 한 번 (group fsync). 장애 시 마지막 주기분은 잃을 수 있다.
+ * - 기동 시 마지막 세그먼트를 끝까지 검사해서 (sequence, CRC) 가 맞는 곳 다음부터 이어 쓴다.
+ * 파일 이름은 rental-events-{첫 sequence 20자리}.log
+ *
+ * 레코드: sequence(8) timestamp micros(8) rentalId(8) bookId(8) memberId(8) type(1) bookStatus(1) pad(2) crc32(4)
+ */
+@Slf4j
+@Component
+public class RentalEventJournal implements BookChangeListener {
+
+    static final int RECORD_SIZE = 48;
+    private static final int CRC_OFFSET = 44;
+    private static final String PREFIX = "rental-events-";
+    private static final String SUFFIX = ".log";
+    private static final RentalEvent.Type[] TYPES = RentalEvent.Type.values();
+    private static final Book.BookStatus[] STATUSES = Book.BookStatus.values();
+
+    private final Path directory;
+    private final int segmentRecords;
+
+    // 쓰기는 synchronized 로 한 줄로 세운다
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentFirstSequence;
+    private long nextSequence = 1;
+    private boolean dirty;
+    private final CRC32 crc = new CRC32();
+
+    public RentalEventJournal(@Value("${manca.journal.dir:./data/journal}") String directory,
+                              @Value("${manca.journal.segment-size-mb:64}") int segmentSizeMb) {
+        this.directory = Paths.get(directory);
+        this.segmentRecords = (int) ((long) segmentSizeMb * 1024 * 1024 / RECORD_SIZE);
+    }
+
+    // 마지막 세그먼트에서 이어 쓸 위치 찾기
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            roll(1);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        segmentFirstSequence = firstSequence(last);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+
+        int count = 0;
+        while (count < segmentRecords && valid(buffer, count * RECORD_SIZE, segmentFirstSequence + count)) {
+            count++;
+        }
+        // 중간에 끊긴 레코드 뒤에 남은 쓰레기는 지워서 새로 쓰는 레코드와 섞이지 않게 한다
+        for (int i = count; i < segmentRecords && buffer.getLong(i * RECORD_SIZE) != 0; i++) {
+            buffer.put(i * RECORD_SIZE, new byte[RECORD_SIZE]);
+        }
+        buffer.position(count * RECORD_SIZE);
+        nextSequence = segmentFirstSequence + count;
+        log.info("rental event journal opened at sequence {} ({})", nextSequence, last.getFileName());
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * 이벤트 한 건 추가. 부여된 sequence 를 반환한다.
+     */
+    public synchronized long append(RentalEvent.Type type, Long rentalId, Long bookId, Long memberId,
+                                    Book.BookStatus bookStatus) {
+        if (!buffer.hasRemaining()) {
+            roll(nextSequence);
+        }
+        Instant now = Instant.now();
+        long sequence = nextSequence++;
+        int offset = buffer.position();
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000);
+        buffer.putLong(offset + 16, rentalId == null ? 0 : rentalId);
+        buffer.putLong(offset + 24, bookId == null ? 0 : bookId);
+        buffer.putLong(offset + 32, memberId == null ? 0 : memberId);
+        buffer.put(offset + 40, (byte) type.ordinal());
+        buffer.put(offset + 41, (byte) (bookStatus == null ? 0 : bookStatus.ordinal() + 1));
+        buffer.putShort(offset + 42, (short) 0);
+        buffer.putInt(offset + CRC_OFFSET, checksum(crc, buffer, offset));
+        buffer.position(offset + RECORD_SIZE);
+        dirty = true;
+        return sequence;
+    }
+
+    /**
+     * 커밋 후 추가 - 롤백된 변경은 남기지 않는다
+     */
+    public void appendAfterCommit(RentalEvent.Type type, Long rentalId, Long bookId, Long memberId) {
+        TransactionCallbacks.afterCommit(() -> append(type, rentalId, bookId, memberId, null));
+    }
+
+    @Override
+    public void onSaved(Book book) {
+        append(RentalEvent.Type.BOOK_STATUS, null, book.getId(), null, book.getStatus());
+    }
+
+    @Override
+    public void onStatusChanged(Collection<Long> ids, Book.BookStatus status) {
+        for (Long id : ids) {
+            append(RentalEvent.Type.BOOK_STATUS, null, id, null, status);
+        }
+    }
+
+    // group fsync - 쓰기는 막지 않고 주기마다 한 번 디스크로 내린다
+    @Scheduled(fixedDelayString = "${manca.journal.flush-interval-ms:50}")
+    public void flush() {
+        MappedByteBuffer toForce;
+        synchronized (this) {
+            if (!dirty || channel == null) {
+                return;
+            }
+            dirty = false;
+            toForce = buffer;
+        }
+        toForce.force();
+    }
+
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * fromSequence 부터 최대 limit 건
+     */
+    public List<RentalEvent> read(long fromSequence, int limit) {
+        List<RentalEvent> events = new ArrayList<>(Math.min(limit, 1024));
+        replay(fromSequence, limit, events::add);
+        return events;
+    }
+
+    /**
+     * fromSequence 부터 저널 끝까지 (또는 limit 건까지) 순서대로 consumer 에 넘긴다.
+     * 쓰기 중인 세그먼트도 읽을 수 있다 - 아직 다 쓰이지 않은 레코드는 CRC 검사에서 걸러진다.
+     */
+    public void replay(long fromSequence, int limit, Consumer<RentalEvent> consumer) {
+        long end = lastSequence();
+        long sequence = Math.max(fromSequence, 1);
+        int delivered = 0;
+        List<Path> segments;
+        try {
+            segments = segments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (int s = 0; s < segments.size() && sequence <= end && delivered < limit; s++) {
+            long first = firstSequence(segments.get(s));
+            long next = s + 1 < segments.size() ? firstSequence(segments.get(s + 1)) : Long.MAX_VALUE;
+            if (sequence >= next) {
+                continue;
+            }
+            sequence = Math.max(sequence, first);
+            try (FileChannel in = FileChannel.open(segments.get(s), StandardOpenOption.READ)) {
+                ByteBuffer segment = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                CRC32 readCrc = new CRC32();
+                for (long i = sequence - first; i < segmentRecords && sequence <= end && delivered < limit; i++) {
+                    int offset = (int) i * RECORD_SIZE;
+                    if (!valid(readCrc, segment, offset, sequence)) {
+                        return;
+                    }
+                    consumer.accept(decode(segment, offset));
+                    sequence++;
+                    delivered++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // 현재 세그먼트를 디스크에 내리고 firstSequence 로 시작하는 새 세그먼트를 연다
+    private void roll(long firstSequence) {
+        try {
+            if (channel != null) {
+                buffer.force();
+                channel.close();
+            }
+            Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+            segmentFirstSequence = firstSequence;
+            nextSequence = firstSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private boolean valid(ByteBuffer segment, int offset, long expectedSequence) {
+        return valid(crc, segment, offset, expectedSequence);
+    }
+
+    private static boolean valid(CRC32 crc, ByteBuffer segment, int offset, long expectedSequence) {
+        return offset + RECORD_SIZE <= segment.limit()
+                && segment.getLong(offset) == expectedSequence
+                && segment.getInt(offset + CRC_OFFSET) == checksum(crc, segment, offset);
+    }
+
+    private static int checksum(CRC32 crc, ByteBuffer segment, int offset) {
+        crc.reset();
+        crc.update(segment.slice(offset, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static RentalEvent decode(ByteBuffer segment, int offset) {
+        long micros = segment.getLong(offset + 8);
+        int status = segment.get(offset + 41);
+        return new RentalEvent(
+                segment.getLong(offset),
+                Instant.ofEpochSecond(micros / 1_000_000, (micros % 1_000_000) * 1_000),
+                TYPES[segment.get(offset + 40)],
+                idOrNull(segment.getLong(offset + 16)),
+                idOrNull(segment.getLong(offset + 24)),
+                idOrNull(segment.getLong(offset + 32)),
+                status == 0 ? null : STATUSES[status - 1]);
+    }
+
+    private static Long idOrNull(long id) {
+        return id == 0 ? null : id;
+    }
+}
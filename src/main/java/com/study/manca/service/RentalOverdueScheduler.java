@@ -0,0 +1,126 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.RentalResponse;
+import com.study.manca.entity.Rental;
+import com.study.manca.repository.RentalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 연체 처리 스케줄러
+ * 대여중(ACTIVE) 건을 반납예정일시 순 힙에 들고 있다가, 시간이 지난 건을 모아 한 번의 UPDATE 로 OVERDUE 로 바꾼다.
+ * 반납된 건은 힙에서 따로 빼지 않는다 - UPDATE 조건(status = ACTIVE)에서 걸러진다.
+ * 알림이 유실돼도 주기적으로 DB 에서 직접 한 번 더 정리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RentalOverdueScheduler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final RentalRepository rentalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RentalEventJournal rentalEventJournal;
+
+    private final PriorityQueue<Due> heap = new PriorityQueue<>(Comparator.comparing(Due::dueDateTime));
+
+    // 기동 시 대여중인 건 적재 (이미 지난 건은 첫 tick 에 바로 처리된다)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Object[]> rows = rentalRepository.streamDueByStatus(Rental.RentalStatus.ACTIVE)) {
+            List<Due> dues = new ArrayList<>();
+            rows.forEach(row -> dues.add(new Due((Long) row[0], (LocalDateTime) row[1], (Long) row[2], (Long) row[3])));
+            synchronized (this) {
+                heap.addAll(dues);
+            }
+        }
+    }
+
+    /**
+     * 새로 생성된 대여 건 등록 (커밋 후)
+     */
+    public void scheduleAll(Collection<RentalResponse> rentals) {
+        List<Due> dues = rentals.stream()
+                .map(rental -> new Due(rental.getId(), rental.getDueDateTime(), rental.getBookId(), rental.getMemberId()))
+                .toList();
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                heap.addAll(dues);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${manca.rental-overdue.tick-ms:1000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        while (true) {
+            List<Due> expired = pollExpired(now);
+            if (expired.isEmpty()) {
+                return;
+            }
+            List<Long> ids = expired.stream().map(Due::rentalId).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> journal(expired, rentalRepository.markOverdue(ids, now)));
+            } catch (DataAccessException e) {
+                // 다음 tick 에 다시 시도
+                log.warn("failed to mark {} rentals overdue, retrying next tick", ids.size(), e);
+                synchronized (this) {
+                    heap.addAll(expired);
+                }
+                return;
+            }
+        }
+    }
+
+    // 힙을 거치지 않은 건(직접 INSERT, 알림 유실 등)도 결국 OVERDUE 가 되도록 DB 에서 한 번에 정리
+    @Scheduled(initialDelayString = "${manca.rental-overdue.reconcile-delay-ms:600000}",
+            fixedDelayString = "${manca.rental-overdue.reconcile-delay-ms:600000}")
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Integer updated = transactionTemplate.execute(status -> rentalRepository.markAllOverdue(now));
+        if (updated != null && updated > 0) {
+            log.warn("marked {} rentals overdue that were missing from the due heap", updated);
+        }
+    }
+
+    private void journal(List<Due> dues, Collection<Long> overdueIds) {
+        Set<Long> ids = new HashSet<>(overdueIds);
+        for (Due due : dues) {
+            if (ids.contains(due.rentalId())) {
+                rentalEventJournal.appendAfterCommit(
+                        RentalEvent.Type.OVERDUE, due.rentalId(), due.bookId(), due.memberId());
+            }
+        }
+    }
+
+    private synchronized List<Due> pollExpired(LocalDateTime now) {
+        List<Due> expired = new ArrayList<>();
+        while (expired.size() < BATCH_SIZE && !heap.isEmpty() && !heap.peek().dueDateTime().isAfter(now)) {
+            expired.add(heap.poll());
+        }
+        return expired;
+    }
+
+    private record Due(Long rentalId, LocalDateTime dueDateTime, Long bookId, Long memberId) {
+    }
+}
@@ -4,14 +4,26 @@ import com.study.manca.dto.*;
 import com.study.manca.entity.Book;
 import com.study.manca.entity.Member;
 import com.study.manca.entity.Rental;
-import com.study.manca.repository.BookRepository;
+import com.study.manca.entity.Reservation;
+import com.study.manca.repository.ArchivedRentalRepository;
 import com.study.manca.repository.RentalRepository;
+import com.study.manca.repository.ReservationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,78 +31,228 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class RentalService {
 
+    private static final int RENTAL_DAYS = 7;  // 기본 대여기간
+    private static final int MAX_RETURN_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final List<Rental.RentalStatus> RETURNABLE =
+            List.of(Rental.RentalStatus.ACTIVE, Rental.RentalStatus.OVERDUE);
+
     private final RentalRepository rentalRepository;
+    private final ReservationRepository reservationRepository;
+    private final ArchivedRentalRepository archivedRentalRepository;
     private final MemberService memberService;
     private final BookService bookService;
+    private final RentalOverdueScheduler rentalOverdueScheduler;
+    private final RentalEventJournal rentalEventJournal;
+    private final PopularityTracker popularityTracker;
+    private final TransactionTemplate transactionTemplate;
 
+    // 대여 (POST)
+    // 1. 도서 상태 변경: AVAILABLE -> RENTED 를 조건부 UPDATE 한 번으로 처리 (동시에 두 키오스크가 와도 한쪽만 성공)
+    // 2. 대여 건 생성: INSERT ... SELECT 한 번으로 처리
+    // 3권 중 1권이라도 불가능하면 전부 drop (BookNotAvailableException -> 409, 재시도 안 함)
+    // 데드락/락 충돌은 새 트랜잭션으로 재시도
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<RentalResponse> rental(RentalRequest rentalRequest) {
+        return ConcurrencyRetry.run(() -> transactionTemplate.execute(status -> checkout(rentalRequest)));
+    }
+
+    private List<RentalResponse> checkout(RentalRequest rentalRequest) {
         Member member = memberService.findByEmail(rentalRequest.getEmail());
-        // bookId 로 bookstatusCheck -> If it's available, 대여. Not available, 대여불가
-        // 3개 -> 실제 가능한 건 2개 -> order 전부 drop
-        boolean availableCheck = bookService.checkAllAvailable(rentalRequest.getBookIds());
-        if (!availableCheck) {
-            throw new IllegalArgumentException("Some of books are NOT available");
+        List<Long> bookIds = rentalRequest.getBookIds() == null ? List.of()
+                : rentalRequest.getBookIds().stream().distinct().collect(Collectors.toList());
+        if (bookIds.isEmpty()) {
+            throw new IllegalArgumentException("bookIds must not be empty");
         }
-        List<Book> books = bookService.updateBooksStatus(rentalRequest.getBookIds());
-// TODO: rental, return 만들기
-//        1. req/res 에 entity 를 담지 말자.
-//        2. 기능을 정의할때는 in/out 을 먼저 설정한다.
-//        3. 로직을 작성할때는 data를 먼저 다룬다.
 
+        // 도서와 대여 건이 같은 시각을 쓴다 (DB 의 timestamp 정밀도는 마이크로초)
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        bookService.checkout(bookIds, now);
+        return createRentals(member.getId(), bookIds, now, rentalRequest.getRemarks());
+    }
+
+    // 예약 대여 (POST) - 차례가 와서 보관중(RESERVED)인 도서를 예약자가 대여한다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RentalResponse claim(Long reservationId, ReservationClaimRequest request) {
+        return ConcurrencyRetry.run(() -> transactionTemplate.execute(status -> doClaim(reservationId, request)));
+    }
+
+    private RentalResponse doClaim(Long reservationId, ReservationClaimRequest request) {
+        Member member = memberService.findByEmail(request.getEmail());
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation not found with id: " + reservationId));
+        // 차례가 온 예약자 본인만 대여할 수 있다
+        if (!reservation.getMember().getId().equals(member.getId())) {
+            throw new IllegalArgumentException("Reservation does not belong to member: " + reservationId);
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (reservation.getStatus() != Reservation.ReservationStatus.OFFERED
+                || reservation.getClaimDeadline().isBefore(now)) {
+            throw new IllegalArgumentException("Reservation is not ready to claim: " + reservationId);
+        }
+        Long memberId = member.getId();
+        Long bookId = reservation.getBook().getId();
+        if (reservationRepository.updateStatusIfMatches(List.of(reservationId), Reservation.ReservationStatus.OFFERED,
+                Reservation.ReservationStatus.CLAIMED, now) == 0) {
+            throw new IllegalArgumentException("Reservation is not ready to claim: " + reservationId);
+        }
+        bookService.checkout(List.of(bookId), now, Book.BookStatus.RESERVED);
+        return createRentals(memberId, List.of(bookId), now, null).get(0);
     }
 
-    // 전체 사용자 조회 (GET)
-//    public List<BookResponse> findAll() {
-//        return rentalRepository.findAll().stream()
-//                .map(BookResponse::from)
-//                .collect(Collectors.toList());
-//    }
+    // 대여 건 생성: INSERT ... SELECT 한 번으로 만들고 연체 스케줄러/저널에 등록
+    private List<RentalResponse> createRentals(Long memberId, List<Long> bookIds, LocalDateTime now, String remarks) {
+        List<Long> ids = rentalRepository.insertAll(memberId, bookIds, now, now.plusDays(RENTAL_DAYS), remarks);
 
-    // 특정 사용자 조회 (GET)
-    public BookResponse findById(Long id) {
-        Book book = rentalRepository.findById(id)
-                                    .orElseThrow(()
-                                    -> new IllegalArgumentException("Book not found with id: " + id));
+        List<RentalResponse> rentals = rentalRepository.findResponsesByIdIn(ids);
+        rentalOverdueScheduler.scheduleAll(rentals);
+        popularityTracker.rented(rentals.stream().map(RentalResponse::getTitle).toList());
+        rentals.forEach(rental -> rentalEventJournal.appendAfterCommit(
+                RentalEvent.Type.RENTED, rental.getId(), rental.getBookId(), rental.getMemberId()));
+        return rentals;
+    }
 
-        return BookResponse.from(book);
+    // 반납 (POST) - 두 곳에서 동시에 반납하면 @Version 충돌 -> 재시도 시 이미 반납됨으로 끝난다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RentalResponse returnBook(Long id) {
+        return ConcurrencyRetry.run(() -> transactionTemplate.execute(status -> doReturn(id)));
     }
 
-    // 사용자 생성 (POST)
-    @Transactional
-    public void create(BookRequest request) {
-        // 이메일 중복 확인
-        if (rentalRepository.existsByBookCode(request.getBookCode())) {
-            throw new IllegalArgumentException("BookCode already exists: " + request.getBookCode());
+    private RentalResponse doReturn(Long id) {
+        Rental rental = rentalRepository.findWithBookById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Rental not found with id: " + id));
+        if (rental.getStatus() == Rental.RentalStatus.RETURNED) {
+            throw new IllegalArgumentException("Rental already returned: " + id);
         }
+        // 대여 건, 도서, 예약 보관이 같은 시각을 쓴다
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        rental.returnBook(now);
+        Long bookId = rental.getBook().getId();
+        rentalEventJournal.appendAfterCommit(
+                RentalEvent.Type.RETURNED, rental.getId(), bookId, rental.getMember().getId());
+        // 일괄 반납과 같은 경로: RENTED 인 도서만 AVAILABLE 로 (분실/훼손은 그대로), 예약 대기자가 있으면 RESERVED 로 보관
+        // 조건부 UPDATE 전에 대여 건이 flush 되므로 동시 반납은 여기서 @Version 충돌로 드러난다
+        bookService.checkin(List.of(bookId), now);
+        return RentalResponse.from(rental);
+    }
 
-        Book book = request.toEntity();
-        rentalRepository.save(book);
+    // 일괄 반납 (POST) - 마감 때 쌓인 책을 바코드로 스캔해서 한 번에 반납
+    // 1. 도서코드로 반납 대상 대여 건을 한 번에 조회
+    // 2. 대여 건 RETURNED, 도서 AVAILABLE 을 각각 UPDATE 한 번으로 처리
+    // 스캔한 순서대로 도서코드별 결과를 돌려준다 (중복 스캔은 한 번만 처리)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<RentalReturnResponse> returnBooks(RentalReturnRequest request) {
+        List<String> bookCodes = request.getBookCodes() == null ? List.of()
+                : request.getBookCodes().stream().filter(Objects::nonNull).distinct().toList();
+        if (bookCodes.isEmpty()) {
+            throw new IllegalArgumentException("bookCodes must not be empty");
+        }
+        if (bookCodes.size() > MAX_RETURN_SIZE) {
+            throw new IllegalArgumentException("Too many bookCodes (max " + MAX_RETURN_SIZE + ")");
+        }
+        return ConcurrencyRetry.run(() -> transactionTemplate.execute(status -> checkin(bookCodes)));
     }
 
-    //Update 목적: 기본 정보 update 이 아닌 상태를 update 하기 위한 method 다
-    @Transactional
-    public BookResponse updateBookStatus(Long id, BookUpdateRequest request) {
-        Book book = rentalRepository.findById(id)
-                                    .orElseThrow(() -> new IllegalArgumentException("Book not found with id: " + id));
+    private List<RentalReturnResponse> checkin(List<String> bookCodes) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<String, Object[]> targets = new HashMap<>();
+        for (Object[] row : rentalRepository.findReturnTargets(bookCodes, RETURNABLE)) {
+            targets.merge((String) row[1], row, (first, second) -> first[2] != null ? first : second);
+        }
 
-        // -> 논리키로 검증하나 더 추가 -> 데이터의 정합성(Consistency) 과 무결성(Integrity) 을 보장하기 위해서야.
-        if (!book.getBookCode().equals(request.getBookCode())) {
-            throw new IllegalArgumentException("BookCode does not match request code: " + request.getBookCode());
+        List<Long> rentalIds = new ArrayList<>();
+        List<Long> bookIds = new ArrayList<>();
+        List<RentalReturnResponse> results = new ArrayList<>(bookCodes.size());
+        for (String bookCode : bookCodes) {
+            Object[] row = targets.get(bookCode);
+            if (row == null) {
+                results.add(RentalReturnResponse.of(bookCode, RentalReturnResponse.Result.NOT_FOUND));
+            } else if (row[2] == null) {
+                results.add(RentalReturnResponse.of(bookCode, RentalReturnResponse.Result.NOT_RENTED));
+            } else {
+                bookIds.add((Long) row[0]);
+                rentalIds.add((Long) row[2]);
+                rentalEventJournal.appendAfterCommit(
+                        RentalEvent.Type.RETURNED, (Long) row[2], (Long) row[0], (Long) row[5]);
+                boolean overdue = row[4] == Rental.RentalStatus.OVERDUE || now.isAfter((LocalDateTime) row[3]);
+                results.add(new RentalReturnResponse(bookCode, RentalReturnResponse.Result.RETURNED,
+                        (Long) row[2], now, overdue));
+            }
+        }
+        if (rentalIds.isEmpty()) {
+            return results;
         }
-        book.setVolume(request.getVolume());
-        book.setStatus(request.getStatus());
-        book.setCondition(request.getCondition());
-        book.setLocation(request.getLocation());
-        book.setRemarks(request.getRemarks());
 
-        return BookResponse.from(book);
+        // 조회 후 다른 곳에서 먼저 반납했으면 전체를 새 트랜잭션으로 다시 (ConcurrencyRetry)
+        if (rentalRepository.markReturned(rentalIds, RETURNABLE, now) != rentalIds.size()) {
+            throw new OptimisticLockingFailureException("Rentals changed while returning: " + rentalIds);
+        }
+        bookService.checkin(bookIds, now);
+        return results;
     }
 
-    @Transactional
-    public void delete(Long id) {
-        if (!rentalRepository.existsById(id)) {
-            throw new IllegalArgumentException("Book not found with id: " + id);
+    // 회원별 대여 이력 (GET) - 최근 대여 순, status 가 없으면 전체
+    // 기본은 rentals(hot) 만 읽고, includeArchived 면 rentals_archive(cold) 도 같은 순서로 합친다
+    public CursorResponse<RentalResponse> findByMember(Long memberId, Rental.RentalStatus status, int limit, Long after,
+                                                       boolean includeArchived) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Rental.RentalStatus> statuses = status == null ? List.of(Rental.RentalStatus.values()) : List.of(status);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<RentalResponse> rows;
+        if (includeArchived) {
+            rows = findMemberPageWithArchive(memberId, statuses, after, page);
+        } else if (after == null) {
+            rows = rentalRepository.findMemberPage(memberId, statuses, page);
+        } else {
+            rows = rentalRepository.findMemberPageBefore(memberId, statuses, cursorTime(after), after, page);
+        }
+        if (rows.isEmpty() && after == null) {
+            // 이력이 없는 회원인지 없는 회원인지 구분 (없으면 예외)
+            memberService.findById(memberId);
         }
-        rentalRepository.deleteById(id);
+        return CursorResponse.of(rows, size, RentalResponse::getId);
+    }
+
+    // 양쪽에서 각각 size + 1 건씩 읽어 (rentalDateTime, id) 내림차순으로 합친다
+    private List<RentalResponse> findMemberPageWithArchive(Long memberId, List<Rental.RentalStatus> statuses,
+                                                           Long after, PageRequest page) {
+        LocalDateTime afterTime = after == null ? LocalDateTime.MAX : cursorTime(after);
+        long afterId = after == null ? Long.MAX_VALUE : after;
+        List<RentalResponse> rows = new ArrayList<>(rentalRepository.findMemberPageBefore(
+                memberId, statuses, afterTime, afterId, page));
+        rows.addAll(archivedRentalRepository.findMemberPageBefore(memberId, statuses, afterTime, afterId, page));
+        rows.sort(Comparator.comparing(RentalResponse::getRentalDateTime)
+                .thenComparing(RentalResponse::getId)
+                .reversed());
+        return rows.size() > page.getPageSize() ? rows.subList(0, page.getPageSize()) : rows;
+    }
+
+    // 커서 건의 대여일시 - 그 사이 rentals_archive 로 옮겨졌을 수 있으므로 양쪽에서 찾는다
+    private LocalDateTime cursorTime(Long after) {
+        return rentalRepository.findRentalDateTimeById(after)
+                .or(() -> archivedRentalRepository.findRentalDateTimeById(after))
+                .orElseThrow(() -> new IllegalArgumentException("Rental not found with id: " + after));
+    }
+
+    // 대여 현황판 (GET) - 대여중/연체중 건을 반납예정일시가 빠른 순으로, status 가 없으면 둘 다
+    public CursorResponse<ActiveRentalResponse> findActive(Rental.RentalStatus status, int limit, Long after) {
+        if (status == Rental.RentalStatus.RETURNED) {
+            throw new IllegalArgumentException("status must be ACTIVE or OVERDUE");
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Rental.RentalStatus> statuses = status == null ? RETURNABLE : List.of(status);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<ActiveRentalResponse> rows = after == null
+                ? rentalRepository.findActivePage(statuses, page)
+                : rentalRepository.findActivePageAfter(statuses, after, page);
+        return CursorResponse.of(rows, size, ActiveRentalResponse::getRentalId);
+    }
+
+    // 특정 대여 조회 (GET)
+    // 반납 후 보관된 건이면 rentals_archive 에서 찾는다
+    public RentalResponse findById(Long id) {
+        return rentalRepository.findResponseById(id)
+                .or(() -> archivedRentalRepository.findResponseById(id))
+                .orElseThrow(() -> new IllegalArgumentException("Rental not found with id: " + id));
     }
 }
@@ -0,0 +1,10 @@
+package com.study.manca.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약자에게 차례가 왔음 (커밋 후 발행)
+ * 알림 채널(문자, 키오스크 화면 등)은 이 이벤트를 받아서 보낸다.
+ */
+public record ReservationOfferedEvent(Long reservationId, Long memberId, Long bookId, LocalDateTime claimDeadline) {
+}
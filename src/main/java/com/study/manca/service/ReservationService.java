@@ -0,0 +1,322 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.ReservationRequest;
+import com.study.manca.dto.ReservationResponse;
+import com.study.manca.entity.Book;
+import com.study.manca.entity.Member;
+import com.study.manca.entity.Reservation;
+import com.study.manca.repository.BookRepository;
+import com.study.manca.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * 도서 예약 대기열
+ * 대여중인 도서마다 먼저 예약한 순서대로 FIFO 대기열(ConcurrentLinkedQueue)을 두고 reservations 테이블에도 남긴다.
+ * 도서가 대여 가능해지면 (반납, 보관 만료, 예약 취소) 같은 트랜잭션 안에서 맨 앞 사람에게 차례를 넘긴다.
+ * - 도서는 AVAILABLE 을 거치지 않고 RESERVED 로 커밋되므로 그 사이 다른 사람이 먼저 대여할 수 없고
+ * - claim-window 안에 대여하지 않으면 만료시키고 다음 사람에게 넘긴다.
+ * 대기열에서는 커밋된 뒤에만 빼므로 롤백되면 대기자는 그대로 남는다. 빈 대기열은 지운다.
+ * 차례가 오면 ReservationOfferedEvent 를 한 번 발행한다 (계속 다시 스캔해 볼 필요 없음).
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ReservationService implements BookChangeListener {
+
+    private static final List<Reservation.ReservationStatus> ACTIVE =
+            List.of(Reservation.ReservationStatus.WAITING, Reservation.ReservationStatus.OFFERED);
+
+    private final ReservationRepository reservationRepository;
+    private final BookRepository bookRepository;
+    private final MemberService memberService;
+    // BookChangePublisher 는 이 서비스를 리스너로 들고 있으므로 직접 주입하면 순환 참조가 된다
+    private final ObjectProvider<BookChangePublisher> bookChangePublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+    private final Duration claimWindow;
+
+    private final Map<Long, Queue<Waiting>> queues = new ConcurrentHashMap<>();
+
+    public ReservationService(ReservationRepository reservationRepository,
+                              BookRepository bookRepository,
+                              MemberService memberService,
+                              ObjectProvider<BookChangePublisher> bookChangePublisher,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${manca.reservation.claim-window-minutes:30}") long claimWindowMinutes) {
+        this.reservationRepository = reservationRepository;
+        this.bookRepository = bookRepository;
+        this.memberService = memberService;
+        this.bookChangePublisher = bookChangePublisher;
+        this.eventPublisher = eventPublisher;
+        // 커밋 후 콜백(리스너)에서도 호출되므로 항상 새 트랜잭션으로
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.claimWindow = Duration.ofMinutes(claimWindowMinutes);
+    }
+
+    // 기동 시 대기중인 예약을 예약 순서대로 대기열에 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (Object[] row : reservationRepository.findQueued(Reservation.ReservationStatus.WAITING)) {
+            enqueue((Long) row[1], new Waiting((Long) row[0], (Long) row[2]));
+        }
+    }
+
+    // 예약 (POST) - 대여중/보관중인 도서만 예약할 수 있다
+    @Transactional
+    public ReservationResponse reserve(ReservationRequest request) {
+        Member member = memberService.findByEmail(request.getEmail());
+        Book book = bookRepository.findById(request.getBookId())
+                .orElseThrow(() -> new IllegalArgumentException("Book not found with id: " + request.getBookId()));
+        if (book.getStatus() == Book.BookStatus.AVAILABLE) {
+            throw new IllegalArgumentException("Book is available, rent it directly: " + book.getId());
+        }
+        if (book.getStatus() != Book.BookStatus.RENTED && book.getStatus() != Book.BookStatus.RESERVED) {
+            throw new IllegalArgumentException("Book cannot be reserved: " + book.getStatus());
+        }
+        if (reservationRepository.existsByMemberAndBook(member.getId(), book.getId(), ACTIVE)) {
+            throw new IllegalArgumentException("Book already reserved by member: " + book.getId());
+        }
+
+        Reservation reservation = reservationRepository.save(Reservation.builder()
+                .member(member)
+                .book(book)
+                .build());
+        Long bookId = book.getId();
+        Waiting waiting = new Waiting(reservation.getId(), member.getId());
+        // 그 사이 반납됐을 수도 있으니 넣자마자 한 번 넘겨 본다
+        TransactionCallbacks.afterCommit(() -> {
+            enqueue(bookId, waiting);
+            offer(bookId);
+        });
+        Queue<Waiting> queue = queues.get(bookId);
+        return ReservationResponse.of(reservation, (queue == null ? 0 : queue.size()) + 1);
+    }
+
+    // 특정 예약 조회 (GET)
+    public ReservationResponse findById(Long id) {
+        Reservation reservation = reservationRepository.findWithBookById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation not found with id: " + id));
+        return ReservationResponse.of(reservation, position(reservation));
+    }
+
+    // 예약 취소 (POST) - 보관중이던 도서는 다음 사람에게 넘어간다
+    @Transactional
+    public void cancel(Long id) {
+        Reservation reservation = reservationRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation not found with id: " + id));
+        Long bookId = reservation.getBook().getId();
+        Reservation.ReservationStatus status = reservation.getStatus();
+        if (!ACTIVE.contains(status) || reservationRepository.updateStatusIfMatches(
+                List.of(id), status, Reservation.ReservationStatus.CANCELLED, now()) == 0) {
+            throw new IllegalArgumentException("Reservation is not active: " + id);
+        }
+        if (status == Reservation.ReservationStatus.WAITING) {
+            TransactionCallbacks.afterCommit(() -> dequeue(bookId, waiting -> waiting.reservationId().equals(id)));
+        } else {
+            release(List.of(bookId), now());
+        }
+    }
+
+    // 보관 기한이 지난 예약을 만료시키고 다음 사람에게 넘긴다
+    @Scheduled(fixedDelayString = "${manca.reservation.sweep-ms:30000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sweep() {
+        List<Long> released = requiresNew.execute(status -> {
+            LocalDateTime now = now();
+            List<Object[]> expired = reservationRepository.findExpiredOffers(now);
+            if (expired.isEmpty()) {
+                return List.<Long>of();
+            }
+            List<Long> ids = new ArrayList<>();
+            List<Long> bookIds = new ArrayList<>();
+            for (Object[] row : expired) {
+                ids.add((Long) row[0]);
+                bookIds.add((Long) row[1]);
+            }
+            reservationRepository.updateStatusIfMatches(
+                    ids, Reservation.ReservationStatus.OFFERED, Reservation.ReservationStatus.EXPIRED, now);
+            release(bookIds, now);
+            return bookIds;
+        });
+        // 이번에 풀어 준 도서만 - 커밋 전에 들어온 예약이 있어 대기자가 있는데 AVAILABLE 로 남았을 수 있다
+        released.forEach(this::offer);
+    }
+
+    /**
+     * 보관중(RESERVED)인 도서를 다른 상태로 바꿀 때 보관하던 예약을 취소한다.
+     * 대기열의 다음 사람은 그대로 남고, 도서가 다시 대여 가능해지면 hold 로 차례를 받는다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void withdraw(Long bookId, LocalDateTime now) {
+        if (reservationRepository.cancelOffers(bookId, now) > 0) {
+            log.info("offered reservation for book {} cancelled: book is no longer reserved", bookId);
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        queues.remove(id);
+    }
+
+    /**
+     * 호출한 트랜잭션 안에서 AVAILABLE 이 된 도서를 대기열 맨 앞 사람 몫으로 RESERVED 로 바꾼다.
+     * 보관한 도서 id 를 돌려주므로 호출한 쪽은 나머지만 AVAILABLE 로 알리면 된다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> hold(Collection<Long> bookIds, LocalDateTime now) {
+        Set<Long> held = new HashSet<>();
+        for (Long bookId : bookIds) {
+            if (offerHead(bookId, now)) {
+                held.add(bookId);
+            }
+        }
+        if (held.isEmpty()) {
+            return held;
+        }
+        if (bookRepository.updateStatusIfMatches(held, Book.BookStatus.AVAILABLE, Book.BookStatus.RESERVED, now)
+                .size() != held.size()) {
+            throw new OptimisticLockingFailureException("Books changed while holding for reservations: " + held);
+        }
+        bookChangePublisher.getObject().statusChanged(held, Book.BookStatus.RESERVED);
+        return held;
+    }
+
+    // 보관중(RESERVED)인 도서를 다음 사람에게 넘기고, 대기자가 없는 도서만 AVAILABLE 로 알린다
+    private void release(List<Long> bookIds, LocalDateTime now) {
+        List<Long> changed = bookRepository.updateStatusIfMatches(
+                bookIds, Book.BookStatus.RESERVED, Book.BookStatus.AVAILABLE, now);
+        Set<Long> held = hold(changed, now);
+        List<Long> available = changed.stream().filter(id -> !held.contains(id)).toList();
+        if (!available.isEmpty()) {
+            bookChangePublisher.getObject().statusChanged(available, Book.BookStatus.AVAILABLE);
+        }
+    }
+
+    // 대기자가 있는데 AVAILABLE 로 남은 도서 (예약 직후 반납된 경우 등) 를 새 트랜잭션으로 보관한다
+    // 상태는 잠그고 읽으므로, 반납이 대기열을 확인한 뒤 아직 커밋 전이면 커밋을 기다렸다가 AVAILABLE 을 보고 보관한다
+    private void offer(Long bookId) {
+        Queue<Waiting> queue = queues.get(bookId);
+        if (queue == null || queue.isEmpty()) {
+            prune(bookId);
+            return;
+        }
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                boolean available = bookRepository.findStatusForUpdate(bookId)
+                        .filter(Book.BookStatus.AVAILABLE.name()::equals)
+                        .isPresent();
+                if (available) {
+                    hold(List.of(bookId), now());
+                }
+            });
+        } catch (OptimisticLockingFailureException e) {
+            // 확인한 뒤 다른 사람이 먼저 대여했다 - 대기자는 그대로 남는다
+            log.debug("book {} taken before it could be held: {}", bookId, e.getMessage());
+        }
+    }
+
+    // 대기열 맨 앞 사람에게 차례를 넘긴다. 취소된 건은 건너뛴다.
+    // 대기열에서는 커밋된 뒤에 빼므로 롤백되면 그대로 남는다
+    private boolean offerHead(Long bookId, LocalDateTime now) {
+        Queue<Waiting> queue = queues.get(bookId);
+        if (queue == null) {
+            return false;
+        }
+        LocalDateTime claimDeadline = now.plus(claimWindow);
+        List<Waiting> consumed = new ArrayList<>();
+        for (Waiting head : queue) {
+            consumed.add(head);
+            if (reservationRepository.offer(head.reservationId(), now, claimDeadline) == 1) {
+                ReservationOfferedEvent event =
+                        new ReservationOfferedEvent(head.reservationId(), head.memberId(), bookId, claimDeadline);
+                TransactionCallbacks.afterCommit(() -> {
+                    dequeue(bookId, consumed::contains);
+                    log.info("reservation {} offered: book {} held for member {} until {}",
+                            event.reservationId(), bookId, event.memberId(), claimDeadline);
+                    eventPublisher.publishEvent(event);
+                });
+                return true;
+            }
+        }
+        // 남은 대기자가 모두 취소된 건이었다
+        if (!consumed.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> dequeue(bookId, consumed::contains));
+        }
+        return false;
+    }
+
+    private Integer position(Reservation reservation) {
+        if (reservation.getStatus() != Reservation.ReservationStatus.WAITING) {
+            return null;
+        }
+        Queue<Waiting> queue = queues.get(reservation.getBook().getId());
+        if (queue == null) {
+            return null;
+        }
+        int position = 1;
+        for (Waiting waiting : queue) {
+            if (waiting.reservationId().equals(reservation.getId())) {
+                return position;
+            }
+            position++;
+        }
+        return null;
+    }
+
+    // 대기열 생성/삭제와 겹치지 않도록 compute 안에서 넣는다
+    private void enqueue(Long bookId, Waiting waiting) {
+        queues.compute(bookId, (key, queue) -> {
+            Queue<Waiting> target = queue == null ? new ConcurrentLinkedQueue<>() : queue;
+            target.add(waiting);
+            return target;
+        });
+    }
+
+    private void dequeue(Long bookId, Predicate<Waiting> filter) {
+        Queue<Waiting> queue = queues.get(bookId);
+        if (queue != null) {
+            queue.removeIf(filter);
+            prune(bookId);
+        }
+    }
+
+    private void prune(Long bookId) {
+        queues.computeIfPresent(bookId, (key, queue) -> queue.isEmpty() ? null : queue);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private record Waiting(Long reservationId, Long memberId) {
+    }
+}
@@ -0,0 +1,320 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.SeatResponse;
+import com.study.manca.entity.Seat;
+import com.study.manca.repository.SeatRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 좌석 점유 현황
+ * 좌석 배정/해제의 기준은 메모리의 AtomicReferenceArray (좌석마다 한 칸) 이고, 상태 변경은 CAS 로만 한다.
+ * 같은 좌석에 동시에 배정해도 AVAILABLE -> OCCUPIED CAS 는 하나만 성공한다.
+ * 바뀐 좌석은 dirty 로 표시해 두고 flush-interval-ms 마다 seats 테이블에 batch update 로 내려쓴다 (write-behind).
+ * dirty 표시와 대기 큐는 메모리에만 있어서 내구성이 없다. 정상 종료 시에는 @PreDestroy 에서 마지막으로 내려쓰지만,
+ * 프로세스가 죽으면 마지막 flush 이후의 배정/해제는 사라지고, 기동 시 seats 테이블의 마지막 flush 상태로 복구된다.
+ * 좌석 구성(추가/삭제)은 기동 시점 기준이다.
+ * 상태가 바뀌면 StatusEventHub 로 바로 알린다 (메모리 상태가 기준이므로 DB flush 를 기다리지 않음).
+ * 알림에는 CAS 로 바꾼 값을 그대로 싣고, 같은 좌석의 알림은 좌석별 version 순서대로 나가게 한다 (기다리지 않음).
+ */
+@Slf4j
+@Component
+public class SeatOccupancy {
+
+    private static final String UPDATE_SQL = "UPDATE seats SET status = ?, current_member_id = ?, updated_at = ? WHERE id = ?";
+
+    private final SeatRepository seatRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StatusEventHub statusEventHub;
+
+    private volatile Floor floor = Floor.of(List.of());
+    private final AtomicLong changes = new AtomicLong();
+    private volatile Snapshot cachedSnapshot;
+
+    public SeatOccupancy(SeatRepository seatRepository, JdbcTemplate jdbcTemplate, StatusEventHub statusEventHub) {
+        this.seatRepository = seatRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.statusEventHub = statusEventHub;
+    }
+
+    // 기동 시 seats 테이블에서 복구
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        floor = Floor.of(seatRepository.findAllResponses());
+        changes.incrementAndGet();
+        log.info("seat occupancy loaded: {} seats", floor.ids.length);
+    }
+
+    /**
+     * 좌석 배정 - 사용가능 좌석만, 동시에 여러 번 불려도 하나만 성공한다
+     * 회원은 한 번에 한 좌석만 쓸 수 있다 (회원 칸을 먼저 잡고, 좌석 CAS 에 실패하면 돌려놓는다)
+     */
+    public SeatResponse assign(Long seatId, Long memberId) {
+        Floor floor = this.floor;
+        int slot = floor.slot(seatId);
+        Integer held = floor.slotByMember.putIfAbsent(memberId, slot);
+        if (held != null) {
+            throw new IllegalArgumentException("Member already has a seat: " + floor.ids[held]);
+        }
+        State current;
+        State occupied;
+        do {
+            current = floor.states.get(slot);
+            if (current.status() != Seat.SeatStatus.AVAILABLE) {
+                floor.slotByMember.remove(memberId, slot);
+                throw new IllegalArgumentException("Seat is not available: " + seatId);
+            }
+            occupied = new State(Seat.SeatStatus.OCCUPIED, memberId, current.version() + 1);
+        } while (!floor.states.compareAndSet(slot, current, occupied));
+        changed(floor, slot, occupied);
+        return floor.toResponse(slot, occupied);
+    }
+
+    /**
+     * 좌석 해제 - 사용중인 좌석만
+     */
+    public SeatResponse release(Long seatId) {
+        Floor floor = this.floor;
+        int slot = floor.slot(seatId);
+        State current;
+        State available;
+        do {
+            current = floor.states.get(slot);
+            if (current.status() != Seat.SeatStatus.OCCUPIED) {
+                throw new IllegalArgumentException("Seat is not occupied: " + seatId);
+            }
+            available = new State(Seat.SeatStatus.AVAILABLE, null, current.version() + 1);
+        } while (!floor.states.compareAndSet(slot, current, available));
+        if (current.memberId() != null) {
+            floor.slotByMember.remove(current.memberId(), slot);
+        }
+        changed(floor, slot, available);
+        return floor.toResponse(slot, available);
+    }
+
+    public boolean contains(Long seatId) {
+        return floor.slotById.containsKey(seatId);
+    }
+
+    /**
+     * 전체 좌석 현황 - 변경이 없으면 직전에 만든 목록을 그대로 돌려준다
+     */
+    public List<SeatResponse> snapshot() {
+        long version = changes.get();
+        Snapshot cached = cachedSnapshot;
+        if (cached != null && cached.version() == version) {
+            return cached.seats();
+        }
+        Floor floor = this.floor;
+        List<SeatResponse> seats = new ArrayList<>(floor.ids.length);
+        for (int slot = 0; slot < floor.ids.length; slot++) {
+            seats.add(floor.toResponse(slot, floor.states.get(slot)));
+        }
+        List<SeatResponse> result = Collections.unmodifiableList(seats);
+        cachedSnapshot = new Snapshot(version, result);
+        return result;
+    }
+
+    // 회원이 사용중인 좌석 (없으면 null)
+    public SeatResponse findByMember(Long memberId) {
+        Floor floor = this.floor;
+        Integer slot = floor.slotByMember.get(memberId);
+        if (slot == null) {
+            return null;
+        }
+        State state = floor.states.get(slot);
+        return memberId.equals(state.memberId()) ? floor.toResponse(slot, state) : null;
+    }
+
+    // 바뀐 좌석을 seats 테이블에 내려쓴다
+    // batch 가 실패하면 한 건씩 다시 써서, 잘못된 행(예: 삭제된 회원 FK 위반)만 로그를 남기고 버린다.
+    // 연결 문제처럼 행과 무관한 실패면 남은 좌석을 다음 flush 에서 다시 시도
+    @Scheduled(fixedDelayString = "${manca.seat-occupancy.flush-interval-ms:200}")
+    public void flush() {
+        Floor floor = this.floor;
+        List<Integer> slots = new ArrayList<>();
+        for (Integer slot = floor.pending.poll(); slot != null; slot = floor.pending.poll()) {
+            // 내려쓰는 동안 또 바뀌면 다시 큐에 들어가도록 표시를 먼저 지운다
+            floor.dirty.set(slot, 0);
+            slots.add(slot);
+        }
+        if (slots.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, slots, slots.size(), (ps, slot) -> bind(ps, floor, slot, now));
+        } catch (DataAccessException e) {
+            log.warn("seat occupancy batch flush failed for {} seats, retrying one by one", slots.size(), e);
+            flushEach(floor, slots, now);
+        }
+    }
+
+    private void flushEach(Floor floor, List<Integer> slots, Timestamp now) {
+        for (int i = 0; i < slots.size(); i++) {
+            int slot = slots.get(i);
+            try {
+                jdbcTemplate.update(UPDATE_SQL, ps -> bind(ps, floor, slot, now));
+            } catch (NonTransientDataAccessResourceException | TransientDataAccessException
+                     | RecoverableDataAccessException e) {
+                log.warn("seat occupancy flush failed, will retry {} seats", slots.size() - i, e);
+                slots.subList(i, slots.size()).forEach(remaining -> markDirty(floor, remaining));
+                return;
+            } catch (DataAccessException e) {
+                log.error("seat occupancy flush dropped seat {} ({})", floor.ids[slot], floor.states.get(slot), e);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Floor floor, int slot, Timestamp now) throws SQLException {
+        State state = floor.states.get(slot);
+        ps.setString(1, state.status().name());
+        if (state.memberId() == null) {
+            ps.setNull(2, Types.BIGINT);
+        } else {
+            ps.setLong(2, state.memberId());
+        }
+        ps.setTimestamp(3, now);
+        ps.setLong(4, floor.ids[slot]);
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    // next 는 CAS 로 넣은 값 - 발행 시점에 다시 읽으면 빠르게 배정/해제된 중간 상태를 놓친다
+    // 좌석별 unpublished 에 version 으로 넣고, 발행은 좌석마다 한 스레드(drain 을 맡은 스레드)만 한다.
+    // 바로 앞 version 이 아직 안 들어왔으면 기다리지 않고 빠지고, 그 version 을 넣는 스레드가 이어서 발행한다
+    private void changed(Floor floor, int slot, State next) {
+        changes.incrementAndGet();
+        markDirty(floor, slot);
+        Map<Long, State> unpublished = floor.unpublished.get(slot);
+        unpublished.put(next.version(), next);
+        if (floor.draining.getAndIncrement(slot) != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            for (State state = unpublished.remove(floor.published[slot] + 1);
+                 state != null;
+                 state = unpublished.remove(floor.published[slot] + 1)) {
+                floor.published[slot] = state.version();
+                publish(floor, slot, state);
+            }
+            missed = floor.draining.addAndGet(slot, -missed);
+        } while (missed != 0);
+    }
+
+    private void publish(Floor floor, int slot, State state) {
+        try {
+            statusEventHub.publish(StatusEvent.Type.SEAT, new StatusEventHub.Change(
+                    floor.ids[slot], state.status().name(), state.memberId(), floor.ids[slot]));
+        } catch (RuntimeException e) {
+            // 알림 실패로 이 좌석의 다음 알림까지 막히지 않게 한다
+            log.warn("seat status event dropped for seat {} ({})", floor.ids[slot], state, e);
+        }
+    }
+
+    private static void markDirty(Floor floor, int slot) {
+        if (floor.dirty.compareAndSet(slot, 0, 1)) {
+            floor.pending.add(slot);
+        }
+    }
+
+    // version 은 좌석마다 CAS 할 때마다 1씩 늘어난다
+    private record State(Seat.SeatStatus status, Long memberId, long version) {
+    }
+
+    private record Snapshot(long version, List<SeatResponse> seats) {
+    }
+
+    /**
+     * 기동 시 고정되는 좌석 배치 - 좌석번호/타입은 바뀌지 않으므로 배열로 두고 상태만 CAS 로 바꾼다
+     */
+    private static final class Floor {
+
+        private final long[] ids;
+        private final String[] seatNumbers;
+        private final Seat.SeatType[] types;
+        private final Map<Long, Integer> slotById;
+        private final Map<Long, Integer> slotByMember = new ConcurrentHashMap<>();
+        private final AtomicReferenceArray<State> states;
+        private final AtomicIntegerArray dirty;
+        private final List<Map<Long, State>> unpublished;  // 좌석별 아직 발행하지 않은 상태 (version -> 상태)
+        private final AtomicIntegerArray draining;  // 좌석별 발행 요청 수 - 0 에서 올린 스레드가 발행을 맡는다
+        private final long[] published;  // 좌석별 마지막으로 발행한 version - 발행을 맡은 스레드만 읽고 쓴다
+        private final Queue<Integer> pending = new ConcurrentLinkedQueue<>();
+
+        private Floor(int size) {
+            ids = new long[size];
+            seatNumbers = new String[size];
+            types = new Seat.SeatType[size];
+            slotById = new HashMap<>(size * 2);
+            states = new AtomicReferenceArray<>(size);
+            dirty = new AtomicIntegerArray(size);
+            unpublished = new ArrayList<>(size);
+            for (int slot = 0; slot < size; slot++) {
+                unpublished.add(new ConcurrentHashMap<>());
+            }
+            draining = new AtomicIntegerArray(size);
+            published = new long[size];
+        }
+
+        static Floor of(List<SeatResponse> seats) {
+            Floor floor = new Floor(seats.size());
+            for (int slot = 0; slot < seats.size(); slot++) {
+                SeatResponse seat = seats.get(slot);
+                floor.ids[slot] = seat.getId();
+                floor.seatNumbers[slot] = seat.getSeatNumber();
+                floor.types[slot] = Seat.SeatType.valueOf(seat.getType());
+                floor.slotById.put(seat.getId(), slot);
+                Seat.SeatStatus status = Seat.SeatStatus.valueOf(seat.getStatus());
+                Long memberId = status == Seat.SeatStatus.AVAILABLE ? null : seat.getCurrentMemberId();
+                floor.states.set(slot, new State(status, memberId, 0));
+                if (memberId != null) {
+                    floor.slotByMember.putIfAbsent(memberId, slot);
+                }
+            }
+            return floor;
+        }
+
+        int slot(Long seatId) {
+            Integer slot = slotById.get(seatId);
+            if (slot == null) {
+                throw new IllegalArgumentException("Seat not found with id: " + seatId);
+            }
+            return slot;
+        }
+
+        SeatResponse toResponse(int slot, State state) {
+            return new SeatResponse(ids[slot], seatNumbers[slot], types[slot], state.status(), state.memberId());
+        }
+    }
+}
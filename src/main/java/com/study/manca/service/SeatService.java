@@ -0,0 +1,35 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.SeatAssignRequest;
+import com.study.manca.dto.SeatResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 좌석 배정/해제는 SeatOccupancy(메모리) 에서 처리하고 DB 에는 나중에 내려쓴다
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatService {
+
+    private final SeatOccupancy seatOccupancy;
+    private final MemberService memberService;
+
+    // 전체 좌석 현황 (GET)
+    public List<SeatResponse> findAll() {
+        return seatOccupancy.snapshot();
+    }
+
+    // 좌석 배정 (POST)
+    public SeatResponse assign(Long seatId, SeatAssignRequest request) {
+        Long memberId = memberService.findByEmail(request.getEmail()).getId();
+        return seatOccupancy.assign(seatId, memberId);
+    }
+
+    // 좌석 해제 (POST)
+    public SeatResponse release(Long seatId) {
+        return seatOccupancy.release(seatId);
+    }
+}
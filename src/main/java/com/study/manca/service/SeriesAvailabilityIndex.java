@@ -0,0 +1,169 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.SeriesAvailabilityResponse;
+import com.study.manca.entity.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시리즈별 대여 가능 권 현황
+ * 시리즈 키는 도서코드에서 마지막 '-' 앞부분 (MH-001-003 -> MH-001). 제목으로도 찾을 수 있다.
+ * 시리즈마다 권 번호 순 TreeMap 에 권별 보유/대여가능 부수를 두고, 도서 변경이 커밋될 때마다 갱신한다.
+ * 기동 시 적재는 BookIndexLoader 가 한다.
+ */
+@Component
+public class SeriesAvailabilityIndex implements BookChangeListener {
+
+    private final Map<String, Series> seriesByKey = new HashMap<>();
+    private final Map<String, String> keyByTitle = new HashMap<>();
+    private final Map<Long, Copy> copies = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void onSaved(Book book) {
+        if (book.getVolume() == null || book.getVolume() < 0) {
+            onDeleted(book.getId());
+            return;
+        }
+        Copy copy = new Copy(seriesKey(book.getBookCode()), book.getVolume(),
+                book.getStatus() == Book.BookStatus.AVAILABLE);
+        lock.writeLock().lock();
+        try {
+            removeCopy(book.getId());
+            copies.put(book.getId(), copy);
+            Series series = seriesByKey.computeIfAbsent(copy.seriesKey(), Series::new);
+            series.title = book.getTitle();
+            keyByTitle.put(book.getTitle(), copy.seriesKey());
+            series.add(copy.volume(), copy.available());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeCopy(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStatusChanged(Collection<Long> ids, Book.BookStatus status) {
+        boolean available = status == Book.BookStatus.AVAILABLE;
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Copy copy = copies.get(id);
+                if (copy == null || copy.available() == available) {
+                    continue;
+                }
+                Series series = seriesByKey.get(copy.seriesKey());
+                series.remove(copy.volume(), copy.available());
+                series.add(copy.volume(), available);
+                copies.put(id, new Copy(copy.seriesKey(), copy.volume(), available));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 시리즈 키(도서코드 앞부분) 또는 제목으로 조회
+     */
+    public Optional<SeriesAvailabilityResponse> find(String key) {
+        lock.readLock().lock();
+        try {
+            Series series = seriesByKey.get(key);
+            if (series == null) {
+                String seriesKey = keyByTitle.get(key);
+                series = seriesKey == null ? null : seriesByKey.get(seriesKey);
+            }
+            return Optional.ofNullable(series).map(Series::toResponse);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeCopy(Long id) {
+        Copy old = copies.remove(id);
+        if (old == null) {
+            return;
+        }
+        Series series = seriesByKey.get(old.seriesKey());
+        series.remove(old.volume(), old.available());
+        if (series.isEmpty()) {
+            seriesByKey.remove(series.key);
+            keyByTitle.remove(series.title, series.key);
+        }
+    }
+
+    static String seriesKey(String bookCode) {
+        int index = bookCode.lastIndexOf('-');
+        return index > 0 ? bookCode.substring(0, index) : bookCode;
+    }
+
+    private record Copy(String seriesKey, int volume, boolean available) {
+    }
+
+    private static final class Series {
+
+        private final String key;
+        private String title;
+        // 권 -> [보유 부수, 대여가능 부수]. 권 번호가 드문드문하거나 커도 보유한 권만큼만 차지한다
+        private final TreeMap<Integer, int[]> copiesByVolume = new TreeMap<>();
+        private int availableVolumes;  // 대여가능 부수가 1 이상인 권 수
+
+        Series(String key) {
+            this.key = key;
+        }
+
+        boolean isEmpty() {
+            return copiesByVolume.isEmpty();
+        }
+
+        void add(int volume, boolean isAvailable) {
+            int[] counts = copiesByVolume.computeIfAbsent(volume, v -> new int[2]);
+            counts[0]++;
+            if (isAvailable && counts[1]++ == 0) {
+                availableVolumes++;
+            }
+        }
+
+        void remove(int volume, boolean wasAvailable) {
+            int[] counts = copiesByVolume.get(volume);
+            if (wasAvailable && --counts[1] == 0) {
+                availableVolumes--;
+            }
+            if (--counts[0] == 0) {
+                copiesByVolume.remove(volume);
+            }
+        }
+
+        SeriesAvailabilityResponse toResponse() {
+            List<Integer> volumes = new ArrayList<>(availableVolumes);
+            copiesByVolume.forEach((volume, counts) -> {
+                if (counts[1] > 0) {
+                    volumes.add(volume);
+                }
+            });
+            return new SeriesAvailabilityResponse(
+                    key,
+                    title,
+                    copiesByVolume.size(),
+                    availableVolumes,
+                    volumes);
+        }
+    }
+}
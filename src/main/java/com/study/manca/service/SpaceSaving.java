@@ -0,0 +1,124 @@
+package com.study.manca.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Space-Saving 상위 빈도 집계 (Metwally et al.)
+ * 카운터 capacity 개만 들고 있다가 꽉 차면 가장 작은 카운터를 새 키에 물려준다 (count 는 이어받고 그만큼을 error 로 기록).
+ * 실제 빈도는 [count - error, count] 사이에 있고, 전체의 1/capacity 보다 많이 나온 키는 반드시 남는다.
+ * 가장 작은 카운터를 바로 찾기 위해 위치를 기억하는 최소 힙(배열)을 쓴다 - 갱신 O(log capacity).
+ * 동기화하지 않으므로 호출하는 쪽에서 잠근다.
+ */
+final class SpaceSaving<K> {
+
+    private final Object[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<K, Integer> positions;
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.keys = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    void add(K key, long weight) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            counts[position] += weight;
+            siftDown(position);
+            return;
+        }
+        if (size < keys.length) {
+            keys[size] = key;
+            counts[size] = weight;
+            errors[size] = 0;
+            positions.put(key, size);
+            siftUp(size++);
+            return;
+        }
+        // 가장 작은 카운터(root)를 새 키가 이어받는다
+        positions.remove(key(0));
+        keys[0] = key;
+        errors[0] = counts[0];
+        counts[0] += weight;
+        positions.put(key, 0);
+        siftDown(0);
+    }
+
+    boolean contains(K key) {
+        return positions.containsKey(key);
+    }
+
+    // 여기 없는 키가 이 칸에서 가졌을 수 있는 최대 빈도 - 꽉 차기 전에는 빠진 키가 없으므로 0, 꽉 찼으면 가장 작은 카운터
+    long missingBound() {
+        return size < keys.length ? 0 : counts[0];
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+
+    // (key, {count, error})
+    void forEach(BiConsumer<K, long[]> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(key(i), new long[]{counts[i], errors[i]});
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int index) {
+        return (K) keys[index];
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = index * 2 + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        positions.put(key(a), a);
+        positions.put(key(b), b);
+    }
+}
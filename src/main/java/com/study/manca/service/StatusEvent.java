@@ -0,0 +1,17 @@
+package com.study.manca.service;
+
+import java.time.Instant;
+
+/**
+ * 좌석/주문 상태 변경 알림 한 건
+ * 좌석이면 targetId = seatId, 주문이면 targetId = 주문 ID.
+ */
+public record StatusEvent(long id, Instant timestamp, Type type,
+                          Long targetId, String status, Long memberId, Long seatId) {
+
+    public enum Type {
+        SEAT,       // 좌석 상태 변경
+        ORDER,      // 주문 상태 변경 (생성 포함)
+        RESYNC      // 이어받을 수 없으니 전체를 다시 조회하라는 표시
+    }
+}
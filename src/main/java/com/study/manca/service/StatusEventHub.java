@@ -0,0 +1,224 @@
+package com.study.manca.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 좌석/주문 상태 변경 SSE 발행
+ * 변경은 한 번만 만들어서 구독자마다 조건(종류/상태/좌석)에 맞는 것만 각자의 큐에 넣는다.
+ * - 구독자 큐는 buffer-size 로 제한하고, 가득 차면 (느린 화면) 연결을 끊는다. 화면은 Last-Event-ID 로 다시 붙는다.
+ * - 최근 history-size 건은 링 버퍼에 남겨 두고, 다시 붙은 구독자에게 Last-Event-ID 다음부터 보내 준다.
+ *   그보다 오래된 id 이거나 재기동 전의 id 면 RESYNC 를 보내서 전체를 다시 조회하게 한다.
+ * - 이벤트 id 는 "{기동 시각}-{순번}" 이다. 순번은 재기동하면 1 부터 다시 시작하므로 기동 시각(epoch)이 다르면 이어받지 않는다.
+ * - 실제 전송(네트워크 쓰기)은 전용 스레드 풀에서 구독자별로 한 번에 하나씩 한다.
+ * id 발급, 링 버퍼 기록, 큐 넣기는 한 잠금 안에서 해서 모든 구독자가 같은 순서로 받는다.
+ */
+@Slf4j
+@Component
+public class StatusEventHub {
+
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final StatusEvent[] history;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+
+    private final long epoch = System.currentTimeMillis();
+    private long lastId;  // guarded by this
+
+    public StatusEventHub(@Value("${manca.status-events.history-size:4096}") int historySize,
+                          @Value("${manca.status-events.buffer-size:256}") int bufferSize,
+                          @Value("${manca.status-events.timeout-ms:1800000}") long timeoutMillis,
+                          @Value("${manca.status-events.threads:4}") int threads) {
+        this.history = new StatusEvent[historySize];
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger sequence = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "status-events-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 변경 발행 - change 는 상태가 바뀐 시점에 만든 값이어야 한다 (발행 시점에 다시 읽으면 중간 변경을 놓친다)
+     */
+    public void publish(StatusEvent.Type type, Change change) {
+        synchronized (this) {
+            StatusEvent event = new StatusEvent(++lastId, Instant.now(), type,
+                    change.targetId(), change.status(), change.memberId(), change.seatId());
+            history[(int) (event.id() % history.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter.matches(event)) {
+                    subscriber.offer(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * 구독 - lastEventId 가 있으면 그 다음부터 이어서 보낸다
+     */
+    public SseEmitter subscribe(Filter filter, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        Long resumeFrom = lastEventId == null ? null : sequenceOf(lastEventId);
+        synchronized (this) {
+            if (lastEventId != null && (resumeFrom == null || resumeFrom != lastId)) {
+                long oldest = Math.max(1, lastId - history.length + 1);
+                if (resumeFrom == null || resumeFrom > lastId || resumeFrom + 1 < oldest) {
+                    subscriber.offer(new StatusEvent(lastId, Instant.now(), StatusEvent.Type.RESYNC,
+                            null, null, null, null));
+                } else {
+                    for (long id = resumeFrom + 1; id <= lastId; id++) {
+                        StatusEvent event = history[(int) (id % history.length)];
+                        if (filter.matches(event)) {
+                            subscriber.offer(event);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    // 연결 유지용 주석 전송 (프록시가 유휴 연결을 끊지 않도록)
+    @Scheduled(fixedDelayString = "${manca.status-events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule(true);
+        }
+    }
+
+    // 이 기동에서 발급한 id 면 순번, 형식이 다르거나 재기동 전의 id 면 null
+    private Long sequenceOf(String eventId) {
+        int dash = eventId.indexOf('-');
+        try {
+            if (dash > 0 && Long.parseLong(eventId.substring(0, dash)) == epoch) {
+                return Long.parseLong(eventId.substring(dash + 1));
+            }
+        } catch (NumberFormatException ignored) {
+            // 알 수 없는 id 는 RESYNC
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void close() {
+        new ArrayList<>(subscribers).forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    public record Change(Long targetId, String status, Long memberId, Long seatId) {
+    }
+
+    /**
+     * 구독 조건 - 비어 있는 항목은 전체
+     */
+    public record Filter(Set<StatusEvent.Type> types, Set<String> statuses, Set<Long> seatIds) {
+
+        boolean matches(StatusEvent event) {
+            if (event.type() == StatusEvent.Type.RESYNC) {
+                return true;
+            }
+            return (types.isEmpty() || types.contains(event.type()))
+                    && (statuses.isEmpty() || statuses.contains(event.status()))
+                    && (seatIds.isEmpty() || seatIds.contains(event.seatId()));
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Filter filter;
+        private final BlockingQueue<StatusEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Filter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        void offer(StatusEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.info("status event subscriber dropped: buffer full ({} events)", bufferSize);
+                close();
+                return;
+            }
+            schedule(false);
+        }
+
+        // 이미 보내는 중이면 그 스레드가 큐를 이어서 비운다
+        void schedule(boolean heartbeat) {
+            if (!closed && sending.compareAndSet(false, true)) {
+                senders.execute(() -> send(heartbeat));
+            }
+        }
+
+        private void send(boolean heartbeat) {
+            try {
+                if (heartbeat && queue.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+                List<StatusEvent> batch = new ArrayList<>();
+                while (!closed && queue.drainTo(batch) > 0) {
+                    for (StatusEvent event : batch) {
+                        emitter.send(SseEmitter.event()
+                                .id(epoch + "-" + event.id())
+                                .name(event.type().name())
+                                .data(event));
+                    }
+                    batch.clear();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                sending.set(false);
+                if (!closed && !queue.isEmpty()) {
+                    schedule(false);
+                }
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // 이미 끝난 연결
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.study.manca.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시간 창(window) 상위 K 집계
+ * 창을 bucketCount 개의 시간 칸으로 나누고 칸마다 SpaceSaving 을 하나씩 둔다 (고정 메모리).
+ * 조회 시 창 안의 칸들을 합쳐서 순위를 매기고, 창에서 벗어난 칸은 다음에 쓸 때 비운다.
+ */
+final class WindowedTopK<K> {
+
+    private final long bucketMillis;
+    private final SpaceSaving<K>[] buckets;
+    private final long[] bucketEpochs;  // 칸에 들어 있는 시간 번호 (epochMillis / bucketMillis)
+
+    @SuppressWarnings("unchecked")
+    WindowedTopK(Duration bucket, int bucketCount, int capacity) {
+        this.bucketMillis = bucket.toMillis();
+        this.buckets = new SpaceSaving[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new SpaceSaving<>(capacity);
+            bucketEpochs[i] = -1;
+        }
+    }
+
+    synchronized void add(K key, long weight, Instant at) {
+        long epoch = at.toEpochMilli() / bucketMillis;
+        int index = (int) (epoch % buckets.length);
+        if (bucketEpochs[index] != epoch) {
+            if (bucketEpochs[index] > epoch) {
+                return;  // 창보다 오래된 기록
+            }
+            buckets[index].clear();
+            bucketEpochs[index] = epoch;
+        }
+        buckets[index].add(key, weight);
+    }
+
+    // 칸마다 [count - error, count] 가 실제 빈도를 감싸므로, 합친 값도 그렇게 되도록
+    // 키가 빠져 있는 꽉 찬 칸은 그 칸의 가장 작은 카운터만큼 count 와 error 에 더한다 (밀려난 키가 가졌을 수 있는 최대치)
+    synchronized List<Entry<K>> top(int limit, Instant now) {
+        long current = now.toEpochMilli() / bucketMillis;
+        List<SpaceSaving<K>> window = new ArrayList<>(buckets.length);
+        Map<K, long[]> merged = new HashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (bucketEpochs[i] > current - buckets.length && bucketEpochs[i] <= current) {
+                window.add(buckets[i]);
+                buckets[i].forEach((key, countAndError) -> merged.merge(key, countAndError, (a, b) -> {
+                    a[0] += b[0];
+                    a[1] += b[1];
+                    return a;
+                }));
+            }
+        }
+        for (SpaceSaving<K> bucket : window) {
+            long bound = bucket.missingBound();
+            if (bound == 0) {
+                continue;
+            }
+            merged.forEach((key, countAndError) -> {
+                if (!bucket.contains(key)) {
+                    countAndError[0] += bound;
+                    countAndError[1] += bound;
+                }
+            });
+        }
+        List<Entry<K>> entries = new ArrayList<>(merged.size());
+        merged.forEach((key, countAndError) -> entries.add(new Entry<>(key, countAndError[0], countAndError[1])));
+        entries.sort(Comparator.comparingLong(Entry<K>::count).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    record Entry<K>(K key, long count, long error) {
+    }
+}
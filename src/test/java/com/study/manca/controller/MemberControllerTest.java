@@ -1,17 +1,23 @@
 package com.study.manca.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.manca.dto.CursorResponse;
 import com.study.manca.dto.MemberRequest;
 import com.study.manca.dto.MemberResponse;
+import com.study.manca.dto.MemberSnapshotResponse;
+import com.study.manca.dto.RentalResponse;
 import com.study.manca.entity.Member;
+import com.study.manca.entity.Rental;
 import com.study.manca.service.MemberService;
+import com.study.manca.service.MemberSnapshotService;
+import com.study.manca.service.RentalService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -37,9 +43,15 @@ class MemberControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @MockBean
+    @MockitoBean
     private MemberService memberService;
 
+    @MockitoBean
+    private RentalService rentalService;
+
+    @MockitoBean
+    private MemberSnapshotService memberSnapshotService;
+
     private MemberResponse createMemberResponse(Long id, String name, String email, String phone) {
         Member member = Member.builder()
                 .name(name)
@@ -65,33 +77,67 @@ class MemberControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/users - 전체 회원 조회 성공")
+    @DisplayName("GET /api/members - 전체 회원 조회 성공")
     void getAllUsers_Success() throws Exception {
         // given
         List<MemberResponse> members = Arrays.asList(
                 createMemberResponse(1L, "홍길동", "hong@example.com", "010-1234-5678"),
                 createMemberResponse(2L, "김철수", "kim@example.com", "010-2345-6789")
         );
-        given(memberService.findAll()).willReturn(members);
+        given(memberService.findPage(100, null)).willReturn(new CursorResponse<>(members, null, false));
+
+        // when & then
+        mockMvc.perform(get("/api/members"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("홍길동"))
+                .andExpect(jsonPath("$.items[1].name").value("김철수"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/members?after= - 다음 페이지 조회 성공")
+    void getAllUsers_NextPage() throws Exception {
+        // given
+        List<MemberResponse> members = List.of(
+                createMemberResponse(3L, "이영희", "lee@example.com", "010-3456-7890"));
+        given(memberService.findPage(1, 2L)).willReturn(new CursorResponse<>(members, 3L, true));
+
+        // when & then
+        mockMvc.perform(get("/api/members").param("limit", "1").param("after", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.nextCursor").value(3))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/members/lookup - 전화번호 뒷자리로 회원 조회 성공")
+    void lookupUsers_Success() throws Exception {
+        // given
+        List<MemberResponse> members = List.of(
+                createMemberResponse(1L, "홍길동", "hong@example.com", "010-1234-5678"));
+        given(memberService.lookup("5678", 20)).willReturn(members);
 
         // when & then
-        mockMvc.perform(get("/api/users"))
+        mockMvc.perform(get("/api/members/lookup").param("q", "5678"))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value("홍길동"))
-                .andExpect(jsonPath("$[1].name").value("김철수"));
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].phone").value("010-1234-5678"));
     }
 
     @Test
-    @DisplayName("GET /api/users/{id} - 회원 상세 조회 성공")
+    @DisplayName("GET /api/members/{id} - 회원 상세 조회 성공")
     void getUserById_Success() throws Exception {
         // given
         MemberResponse member = createMemberResponse(1L, "홍길동", "hong@example.com", "010-1234-5678");
         given(memberService.findById(1L)).willReturn(member);
 
         // when & then
-        mockMvc.perform(get("/api/users/{id}", 1L))
+        mockMvc.perform(get("/api/members/{id}", 1L))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
@@ -99,9 +145,50 @@ class MemberControllerTest {
                 .andExpect(jsonPath("$.email").value("hong@example.com"));
     }
 
+    @Test
+    @DisplayName("GET /api/members/{id}/snapshot - 회원 방문 현황 조회 성공")
+    void getUserSnapshot_Success() throws Exception {
+        // given
+        MemberResponse member = createMemberResponse(1L, "홍길동", "hong@example.com", "010-1234-5678");
+        MemberSnapshotResponse snapshot = new MemberSnapshotResponse(member, null, List.of(), null, List.of("openOrders"));
+        given(memberSnapshotService.snapshot(1L)).willReturn(snapshot);
+
+        // when & then
+        mockMvc.perform(get("/api/members/{id}/snapshot", 1L))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.member.name").value("홍길동"))
+                .andExpect(jsonPath("$.activeRentals.length()").value(0))
+                .andExpect(jsonPath("$.incomplete[0]").value("openOrders"));
+    }
+
+    @Test
+    @DisplayName("GET /api/members/{id}/rentals - 회원 대여 이력 조회 성공")
+    void getUserRentals_Success() throws Exception {
+        // given
+        RentalResponse rental = RentalResponse.builder()
+                .id(10L)
+                .memberId(1L)
+                .bookId(5L)
+                .bookCode("MH-001-001")
+                .status("RETURNED")
+                .build();
+        given(rentalService.findByMember(1L, Rental.RentalStatus.RETURNED, 50, null, true))
+                .willReturn(new CursorResponse<>(List.of(rental), null, false));
+
+        // when & then
+        mockMvc.perform(get("/api/members/{id}/rentals", 1L)
+                        .param("status", "RETURNED")
+                        .param("includeArchived", "true"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(10))
+                .andExpect(jsonPath("$.items[0].bookCode").value("MH-001-001"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
 
     @Test
-    @DisplayName("POST /api/users - 회원 등록 성공")
+    @DisplayName("POST /api/members - 회원 등록 성공")
     void createUser_Success() throws Exception {
         // given
         MemberRequest request = new MemberRequest("홍길동", "hong@example.com", "010-1234-5678");
@@ -109,7 +196,7 @@ class MemberControllerTest {
         given(memberService.create(any(MemberRequest.class))).willReturn(response);
 
         // when & then
-        mockMvc.perform(post("/api/users")
+        mockMvc.perform(post("/api/members")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andDo(print())
@@ -120,7 +207,7 @@ class MemberControllerTest {
 
 
     @Test
-    @DisplayName("POST /api/users/{id}/update - 회원 정보 전체 수정 성공")
+    @DisplayName("POST /api/members/{id}/update - 회원 정보 전체 수정 성공")
     void updateUser_Success() throws Exception {
         // given
         MemberRequest request = new MemberRequest("홍길동수정", "hong_updated@example.com", "010-9999-8888");
@@ -128,7 +215,7 @@ class MemberControllerTest {
         given(memberService.update(eq(1L), any(MemberRequest.class))).willReturn(response);
 
         // when & then
-        mockMvc.perform(post("/api/users/{id}/update", 1L)
+        mockMvc.perform(post("/api/members/{id}/update", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andDo(print())
@@ -138,7 +225,7 @@ class MemberControllerTest {
     }
 
     @Test
-    @DisplayName("POST /api/users/{id}/update-partial - 회원 정보 부분 수정 성공")
+    @DisplayName("POST /api/members/{id}/update-partial - 회원 정보 부분 수정 성공")
     void updateUserPartial_Success() throws Exception {
         // given
         MemberRequest request = new MemberRequest("홍길동", null, "010-9999-8888");
@@ -146,7 +233,7 @@ class MemberControllerTest {
         given(memberService.updatePartial(eq(1L), any(MemberRequest.class))).willReturn(response);
 
         // when & then
-        mockMvc.perform(post("/api/users/{id}/update-partial", 1L)
+        mockMvc.perform(post("/api/members/{id}/update-partial", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andDo(print())
@@ -155,13 +242,13 @@ class MemberControllerTest {
     }
 
     @Test
-    @DisplayName("POST /api/users/{id}/delete - 회원 삭제 성공")
+    @DisplayName("POST /api/members/{id}/delete - 회원 삭제 성공")
     void deleteUser_Success() throws Exception {
         // given
         doNothing().when(memberService).delete(1L);
 
         // when & then
-        mockMvc.perform(post("/api/users/{id}/delete", 1L))
+        mockMvc.perform(post("/api/members/{id}/delete", 1L))
                 .andDo(print())
                 .andExpect(status().isOk());
     }
@@ -0,0 +1,170 @@
+package com.study.manca.repository;
+
+import com.study.manca.dto.BookResponse;
+import com.study.manca.entity.Book;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(PostgresTestConfiguration.class)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("BookRepository 테스트")
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        entityManager.getEntityManager().createNativeQuery(PostgresTestConfiguration.TRUNCATE_ALL).executeUpdate();
+        for (int i = 1; i <= 5; i++) {
+            Book book = entityManager.persist(Book.builder()
+                    .bookCode("MH-001-00" + i)
+                    .title("원피스")
+                    .author("오다 에이치로")
+                    .publisher("대원씨아이")
+                    .volume(i)
+                    .genre("액션")
+                    .location("A-01")
+                    .status(i == 5 ? Book.BookStatus.LOST : Book.BookStatus.AVAILABLE)
+                    .build());
+            ids.add(book.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("여러 권 대여는 권 수와 관계없이 UPDATE 한 번으로 상태를 바꾸고 바뀐 id 를 돌려준다")
+    void updateStatusIfMatchesIsSingleStatement() {
+        // given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> bookIds = ids.subList(0, 4);
+
+        // when
+        List<Long> updated = bookRepository.updateStatusIfMatches(bookIds, Book.BookStatus.AVAILABLE, Book.BookStatus.RENTED, now);
+
+        // then
+        assertThat(updated).containsExactlyInAnyOrderElementsOf(bookIds);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Book book = entityManager.find(Book.class, ids.get(0));
+        assertThat(book.getStatus()).isEqualTo(Book.BookStatus.RENTED);
+        assertThat(book.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("from 상태가 아닌 도서는 건너뛰고, 이번 UPDATE 로 바뀐 도서만 돌려준다")
+    void updateStatusIfMatchesSkipsOtherStatuses() {
+        // given - 1, 2 번은 먼저 대여됐고 5 번은 분실
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        bookRepository.updateStatusIfMatches(ids.subList(0, 2), Book.BookStatus.AVAILABLE, Book.BookStatus.RENTED, now);
+
+        // when - 같은 시각으로 다시 바꿔도 앞의 변경과 섞이지 않는다
+        List<Long> updated = bookRepository.updateStatusIfMatches(ids, Book.BookStatus.AVAILABLE, Book.BookStatus.RENTED, now);
+
+        // then
+        assertThat(updated).containsExactlyInAnyOrder(ids.get(2), ids.get(3));
+        assertThat(entityManager.find(Book.class, ids.get(4)).getStatus()).isEqualTo(Book.BookStatus.LOST);
+    }
+
+    @Test
+    @DisplayName("빈 도서는 한 번 대여되면 같은 상태에서 다시 대여할 수 없다")
+    void secondCheckoutOfSameBooksMatchesNothing() {
+        // given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        bookRepository.updateStatusIfMatches(ids.subList(0, 3), Book.BookStatus.AVAILABLE, Book.BookStatus.RENTED, now);
+
+        // when
+        List<Long> updated = bookRepository.updateStatusIfMatches(ids.subList(1, 3), Book.BookStatus.AVAILABLE, Book.BookStatus.RENTED, now);
+
+        // then
+        assertThat(updated).isEmpty();
+    }
+
+    @Test
+    @DisplayName("UPDATE 전에 앞선 변경을 내려쓰고, 끝나면 바뀌기 전 엔티티를 남기지 않는다")
+    void updateStatusIfMatchesFlushesAndClears() {
+        // given - 읽어 둔 엔티티의 서가위치만 바꿔 둔다
+        Book loaded = entityManager.find(Book.class, ids.get(0));
+        loaded.setLocation("B-02");
+
+        // when
+        bookRepository.updateStatusIfMatches(List.of(ids.get(0)), Book.BookStatus.AVAILABLE, Book.BookStatus.RENTED,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        // then
+        assertThat(entityManager.getEntityManager().contains(loaded)).isFalse();
+        Book reloaded = entityManager.find(Book.class, ids.get(0));
+        assertThat(reloaded.getLocation()).isEqualTo("B-02");
+        assertThat(reloaded.getStatus()).isEqualTo(Book.BookStatus.RENTED);
+        assertThat(reloaded.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("조회 API 는 엔티티를 만들지 않고 DTO 로 바로 읽는다")
+    void responseQueriesLoadNoEntities() {
+        // when
+        List<BookResponse> page = bookRepository.findResponsePage(ids.get(1), PageRequest.of(0, 2));
+        List<BookResponse> byIds = bookRepository.findResponsesByIdIn(ids);
+        BookResponse one = bookRepository.findResponseById(ids.get(0)).orElseThrow();
+
+        // then
+        assertThat(page).extracting(BookResponse::getId).containsExactly(ids.get(2), ids.get(3));
+        assertThat(byIds).hasSize(5);
+        assertThat(one.getBookCode()).isEqualTo("MH-001-001");
+        assertThat(one.getLocation()).isEqualTo("A-01");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("인덱스 적재용 스트림은 쿼리 1회로 읽고 영속성 컨텍스트에 엔티티를 올리지 않는다")
+    void streamAllForIndexLoadsNoEntities() {
+        // when
+        List<Book> books;
+        try (Stream<Book> stream = bookRepository.streamAllForIndex()) {
+            books = stream.toList();
+        }
+
+        // then
+        assertThat(books).extracting(Book::getId).containsExactlyElementsOf(ids);
+        assertThat(books.get(4).getStatus()).isEqualTo(Book.BookStatus.LOST);
+        assertThat(books.get(0).getVolume()).isEqualTo(1);
+        assertThat(books).noneMatch(entityManager.getEntityManager()::contains);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
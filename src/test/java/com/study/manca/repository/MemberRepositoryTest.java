@@ -0,0 +1,102 @@
+package com.study.manca.repository;
+
+import com.study.manca.dto.MemberResponse;
+import com.study.manca.entity.Member;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(PostgresTestConfiguration.class)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("MemberRepository 테스트")
+class MemberRepositoryTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        entityManager.getEntityManager().createNativeQuery(PostgresTestConfiguration.TRUNCATE_ALL).executeUpdate();
+        for (int i = 1; i <= 5; i++) {
+            Member member = entityManager.persist(Member.builder()
+                    .name("회원" + i)
+                    .email("Member" + i + "@Example.com")
+                    .phone("010-1234-000" + i)
+                    .build());
+            ids.add(member.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("회원 페이지 조회는 엔티티를 만들지 않고 DTO 로 바로 읽는다")
+    void findResponsePageLoadsNoEntities() {
+        // when
+        List<MemberResponse> first = memberRepository.findResponsePage(0L, PageRequest.of(0, 3));
+        List<MemberResponse> next = memberRepository.findResponsePage(first.get(2).getId(), PageRequest.of(0, 3));
+
+        // then
+        assertThat(first).extracting(MemberResponse::getId).containsExactly(ids.get(0), ids.get(1), ids.get(2));
+        assertThat(next).extracting(MemberResponse::getId).containsExactly(ids.get(3), ids.get(4));
+        assertThat(first.get(0).getCreatedAt()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("회원 상세와 전체 스트림도 엔티티를 만들지 않는다")
+    void findResponseByIdAndStreamLoadNoEntities() {
+        // when
+        MemberResponse member = memberRepository.findResponseById(ids.get(0)).orElseThrow();
+        List<String> emails;
+        try (Stream<MemberResponse> members = memberRepository.streamAllResponses()) {
+            emails = members.map(MemberResponse::getEmail).toList();
+        }
+
+        // then
+        assertThat(member.getName()).isEqualTo("회원1");
+        assertThat(emails).hasSize(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("이메일은 대소문자 구분 없이 id 만 읽는다")
+    void findIdByEmailIgnoresCase() {
+        // when & then
+        assertThat(memberRepository.findIdByEmail("member3@example.com")).contains(ids.get(2));
+        assertThat(memberRepository.findIdByEmail("nobody@example.com")).isEmpty();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,27 @@
+package com.study.manca.repository;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * 저장소 테스트용 PostgreSQL
+ * 네이티브 쿼리(RETURNING, ON CONFLICT, SKIP LOCKED)와 init.sql 의 인덱스/제약을 그대로 쓰기 위해
+ * docker-compose 와 같은 이미지에 init.sql 을 올려서 띄운다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfiguration {
+
+    // init.sql 의 예시 데이터는 테스트마다 비운다 (테스트 트랜잭션이 롤백되면 되돌아온다)
+    public static final String TRUNCATE_ALL = "TRUNCATE members, books, seats, rentals, rentals_archive, "
+            + "reservations, menus, orders, idempotency_keys RESTART IDENTITY CASCADE";
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:17-alpine")
+                .withCopyFileToContainer(MountableFile.forHostPath("init.sql"), "/docker-entrypoint-initdb.d/init.sql");
+    }
+}
@@ -0,0 +1,222 @@
+package com.study.manca.repository;
+
+import com.study.manca.dto.ActiveRentalResponse;
+import com.study.manca.dto.RentalResponse;
+import com.study.manca.entity.Book;
+import com.study.manca.entity.Member;
+import com.study.manca.entity.Rental;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(PostgresTestConfiguration.class)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("RentalRepository 테스트")
+class RentalRepositoryTest {
+
+    private static final List<Rental.RentalStatus> RETURNABLE = List.of(Rental.RentalStatus.ACTIVE, Rental.RentalStatus.OVERDUE);
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.getEntityManager().createNativeQuery(PostgresTestConfiguration.TRUNCATE_ALL).executeUpdate();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            Member member = entityManager.persist(Member.builder()
+                    .name("회원" + i)
+                    .email("member" + i + "@example.com")
+                    .phone("010-0000-000" + i)
+                    .build());
+            for (int j = 1; j <= 4; j++) {
+                Book book = entityManager.persist(Book.builder()
+                        .bookCode("MH-" + i + "-" + j)
+                        .title("도서" + i)
+                        .author("작가" + i)
+                        .publisher("출판사")
+                        .volume(j)
+                        .genre("액션")
+                        .build());
+                // 회원마다 대여중 2건, 연체중 1건, 반납완료 1건
+                Rental.RentalStatus status = j <= 2 ? Rental.RentalStatus.ACTIVE
+                        : j == 3 ? Rental.RentalStatus.OVERDUE : Rental.RentalStatus.RETURNED;
+                entityManager.persist(Rental.builder()
+                        .member(member)
+                        .book(book)
+                        .rentalDateTime(now.minusDays(10))
+                        .dueDateTime(now.plusDays(i * 4L + j - 8))
+                        .status(status)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("대여 현황 한 페이지는 행 수와 관계없이 쿼리 1회로 도서, 회원 정보까지 읽는다")
+    void findActivePageRunsSingleQuery() {
+        // when
+        List<ActiveRentalResponse> rows = rentalRepository.findActivePage(RETURNABLE, PageRequest.of(0, 100));
+
+        // then
+        assertThat(rows).hasSize(9);
+        assertThat(rows).extracting(ActiveRentalResponse::getMemberName).doesNotContainNull();
+        assertThat(rows).extracting(ActiveRentalResponse::getBookTitle).doesNotContainNull();
+        assertThat(rows).extracting(ActiveRentalResponse::getDueDateTime).isSorted();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다음 페이지도 쿼리 1회로 이어서 읽는다")
+    void findActivePageAfterRunsSingleQuery() {
+        // given
+        List<ActiveRentalResponse> first = rentalRepository.findActivePage(RETURNABLE, PageRequest.of(0, 4));
+        statistics.clear();
+
+        // when
+        Long after = first.get(first.size() - 1).getRentalId();
+        List<ActiveRentalResponse> next = rentalRepository.findActivePageAfter(RETURNABLE, after, PageRequest.of(0, 100));
+
+        // then
+        assertThat(next).hasSize(5);
+        assertThat(next).extracting(ActiveRentalResponse::getRentalId)
+                .doesNotContainAnyElementsOf(first.stream().map(ActiveRentalResponse::getRentalId).toList());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("상태를 하나만 주면 그 상태만 읽는다")
+    void findActivePageByStatus() {
+        // when
+        List<ActiveRentalResponse> rows = rentalRepository.findActivePage(
+                List.of(Rental.RentalStatus.OVERDUE), PageRequest.of(0, 100));
+
+        // then
+        assertThat(rows).hasSize(3);
+        assertThat(rows).allMatch(ActiveRentalResponse::isOverdue);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 권 대여 건은 INSERT 한 번으로 만들고 새 id 를 돌려준다 (없는 도서는 건너뜀)")
+    void insertAllReturnsCreatedIds() {
+        // given
+        Member member = entityManager.persist(Member.builder()
+                .name("대여회원")
+                .email("renter@example.com")
+                .phone("010-9999-0000")
+                .build());
+        List<Long> bookIds = List.of(newBook("RT-1"), newBook("RT-2"), 999_999L);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        // when
+        List<Long> ids = rentalRepository.insertAll(member.getId(), bookIds, now, now.plusDays(7), "메모");
+
+        // then
+        assertThat(ids).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        List<RentalResponse> created = rentalRepository.findResponsesByIdIn(ids);
+        assertThat(created).extracting(RentalResponse::getBookCode).containsExactlyInAnyOrder("RT-1", "RT-2");
+        assertThat(created).extracting(RentalResponse::getStatus).containsOnly("ACTIVE");
+        assertThat(created).extracting(RentalResponse::getRemarks).containsOnly("메모");
+        assertThat(created).extracting(RentalResponse::getMemberId).containsOnly(member.getId());
+    }
+
+    @Test
+    @DisplayName("같은 회원이 같은 시각에 두 번 대여해도 각자 만든 대여 건만 돌려받는다")
+    void insertAllDoesNotMixConcurrentCheckouts() {
+        // given
+        Member member = entityManager.persist(Member.builder()
+                .name("대여회원")
+                .email("renter@example.com")
+                .phone("010-9999-0000")
+                .build());
+        Long first = newBook("RT-1");
+        Long second = newBook("RT-2");
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        // when
+        List<Long> firstIds = rentalRepository.insertAll(member.getId(), List.of(first), now, now.plusDays(7), null);
+        List<Long> secondIds = rentalRepository.insertAll(member.getId(), List.of(second), now, now.plusDays(7), null);
+
+        // then
+        assertThat(rentalRepository.findResponsesByIdIn(firstIds)).extracting(RentalResponse::getBookId).containsExactly(first);
+        assertThat(rentalRepository.findResponsesByIdIn(secondIds)).extracting(RentalResponse::getBookId).containsExactly(second);
+    }
+
+    @Test
+    @DisplayName("연체 처리는 반납예정일시가 지난 대여중 건만 바꾸고 바꾼 id 만 돌려준다")
+    void markOverdueReturnsChangedIds() {
+        // given - 회원1 의 대여중 2건만 반납예정일시가 지났다
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> all = entityManager.getEntityManager()
+                .createQuery("select r.id from Rental r order by r.id", Long.class)
+                .getResultList();
+        List<Long> expected = entityManager.getEntityManager()
+                .createQuery("select r.id from Rental r where r.status = :status and r.dueDateTime <= :now", Long.class)
+                .setParameter("status", Rental.RentalStatus.ACTIVE)
+                .setParameter("now", now)
+                .getResultList();
+
+        // when
+        List<Long> first = rentalRepository.markOverdue(all, now);
+        List<Long> second = rentalRepository.markOverdue(all, now);
+
+        // then - 같은 시각에 다시 불러도 이미 바뀐 건은 돌려주지 않는다
+        assertThat(expected).hasSize(2);
+        assertThat(first).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(second).isEmpty();
+        Rental rental = entityManager.find(Rental.class, expected.get(0));
+        assertThat(rental.getStatus()).isEqualTo(Rental.RentalStatus.OVERDUE);
+        assertThat(rental.getVersion()).isEqualTo(1L);
+    }
+
+    private Long newBook(String bookCode) {
+        return entityManager.persist(Book.builder()
+                .bookCode(bookCode)
+                .title("대여도서")
+                .author("작가")
+                .publisher("출판사")
+                .volume(1)
+                .genre("액션")
+                .build()).getId();
+    }
+}
@@ -0,0 +1,164 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import com.study.manca.service.BookFacetIndex.Facet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookFacetIndex 테스트")
+class BookFacetIndexTest {
+
+    private BookFacetIndex index;
+
+    // 기동 시 적재는 BookIndexLoader 몫이므로 onSaved 로 바로 넣는다
+    @BeforeEach
+    void setUp() {
+        index = new BookFacetIndex();
+        index.onSaved(book(10L, "액션", "A-01", Book.BookCondition.GOOD, Book.BookStatus.AVAILABLE));
+        index.onSaved(book(11L, "액션", "A-02", Book.BookCondition.POOR, Book.BookStatus.RENTED));
+        index.onSaved(book(12L, "로맨스", "B-01", Book.BookCondition.GOOD, Book.BookStatus.AVAILABLE));
+        index.onSaved(book(13L, "SF", "A-01", Book.BookCondition.EXCELLENT, Book.BookStatus.AVAILABLE));
+    }
+
+    @Test
+    @DisplayName("필터가 없으면 전체 도서와 값별 건수를 반환한다")
+    void browseWithoutFilters() {
+        // when
+        BookFacetIndex.Result result = index.browse(Map.of(), 10);
+
+        // then
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.ids()).containsExactly(10L, 11L, 12L, 13L);
+        assertThat(result.counts().get(Facet.GENRE)).isEqualTo(Map.of("액션", 2, "로맨스", 1, "SF", 1));
+        assertThat(result.counts().get(Facet.STATUS)).isEqualTo(Map.of("AVAILABLE", 3, "RENTED", 1));
+    }
+
+    @Test
+    @DisplayName("같은 항목 안에서는 OR, 항목끼리는 AND 로 거른다")
+    void browseCombinesFilters() {
+        // when
+        BookFacetIndex.Result result = index.browse(Map.of(
+                Facet.GENRE, Set.of("액션", "SF"),
+                Facet.STATUS, Set.of("AVAILABLE")), 10);
+
+        // then
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.ids()).containsExactly(10L, 13L);
+    }
+
+    @Test
+    @DisplayName("facet 건수는 자기 항목을 뺀 나머지 필터로 센다")
+    void countsExcludeOwnFacet() {
+        // when
+        BookFacetIndex.Result result = index.browse(Map.of(
+                Facet.GENRE, Set.of("액션"),
+                Facet.STATUS, Set.of("AVAILABLE")), 10);
+
+        // then - 장르 건수는 대여가능 도서 기준, 대여상태 건수는 액션 기준
+        assertThat(result.counts().get(Facet.GENRE)).isEqualTo(Map.of("액션", 1, "로맨스", 1, "SF", 1));
+        assertThat(result.counts().get(Facet.STATUS)).isEqualTo(Map.of("AVAILABLE", 1, "RENTED", 1));
+        assertThat(result.counts().get(Facet.LOCATION)).isEqualTo(Map.of("A-01", 1));
+    }
+
+    @Test
+    @DisplayName("total 은 전체 건수, ids 는 limit 건까지만 반환한다")
+    void browseRespectsLimit() {
+        // when
+        BookFacetIndex.Result result = index.browse(Map.of(Facet.STATUS, Set.of("AVAILABLE")), 2);
+
+        // then
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.ids()).containsExactly(10L, 12L);
+    }
+
+    @Test
+    @DisplayName("대여상태 변경은 STATUS 비트만 옮긴다")
+    void statusChangeMovesStatusBit() {
+        // when
+        index.onStatusChanged(List.of(10L, 12L, 99L), Book.BookStatus.RENTED);
+
+        // then
+        BookFacetIndex.Result rented = index.browse(Map.of(Facet.STATUS, Set.of("RENTED")), 10);
+        assertThat(rented.ids()).containsExactly(10L, 11L, 12L);
+        assertThat(rented.counts().get(Facet.STATUS)).isEqualTo(Map.of("AVAILABLE", 1, "RENTED", 3));
+        assertThat(rented.counts().get(Facet.GENRE)).isEqualTo(Map.of("액션", 2, "로맨스", 1));
+    }
+
+    @Test
+    @DisplayName("상태 변경으로 비게 된 상태 값의 BitSet 은 지운다")
+    void statusChangeDropsEmptyBitmaps() {
+        // when - 유일한 RENTED 도서를 반납
+        index.onStatusChanged(List.of(11L), Book.BookStatus.AVAILABLE);
+
+        // then
+        assertThat(index.values(Facet.STATUS)).containsExactly("AVAILABLE");
+        index.onStatusChanged(List.of(10L, 11L, 12L, 13L), Book.BookStatus.LOST);
+        assertThat(index.values(Facet.STATUS)).containsExactly("LOST");
+    }
+
+    @Test
+    @DisplayName("수정하면 이전 값의 비트를 지우고 비게 된 값은 건수에서 빠진다")
+    void updateReplacesValues() {
+        // when
+        index.onSaved(book(13L, "액션", "A-02", Book.BookCondition.GOOD, Book.BookStatus.AVAILABLE));
+
+        // then
+        BookFacetIndex.Result result = index.browse(Map.of(), 10);
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.counts().get(Facet.GENRE)).isEqualTo(Map.of("액션", 3, "로맨스", 1));
+        assertThat(result.counts().get(Facet.CONDITION)).isEqualTo(Map.of("GOOD", 3, "POOR", 1));
+    }
+
+    @Test
+    @DisplayName("삭제된 번호는 다음 등록에 재사용한다")
+    void deletedOrdinalIsReused() {
+        // when
+        index.onDeleted(11L);
+        index.onSaved(book(20L, "스포츠", null, Book.BookCondition.FAIR, Book.BookStatus.AVAILABLE));
+
+        // then - 20 번 도서가 11 번 자리(번호 1)를 받아 번호 순으로 두 번째에 온다
+        BookFacetIndex.Result result = index.browse(Map.of(), 10);
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.ids()).containsExactly(10L, 20L, 12L, 13L);
+        assertThat(result.counts().get(Facet.LOCATION)).isEqualTo(Map.of("A-01", 2, "B-01", 1));
+        assertThat(index.browse(Map.of(Facet.STATUS, Set.of("RENTED")), 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("번호가 초기 배열 크기를 넘어도 색인한다")
+    void growsBeyondInitialCapacity() {
+        // given
+        for (long id = 100; id < 2100; id++) {
+            index.onSaved(book(id, "액션", "C-01", Book.BookCondition.GOOD, Book.BookStatus.AVAILABLE));
+        }
+
+        // when
+        BookFacetIndex.Result result = index.browse(Map.of(Facet.LOCATION, Set.of("C-01")), 1);
+
+        // then
+        assertThat(result.total()).isEqualTo(2000);
+        assertThat(result.ids()).containsExactly(100L);
+    }
+
+    private static Book book(Long id, String genre, String location, Book.BookCondition condition, Book.BookStatus status) {
+        return Book.builder()
+                .id(id)
+                .bookCode("MH-" + id)
+                .title("도서" + id)
+                .author("작가")
+                .publisher("출판사")
+                .volume(1)
+                .genre(genre)
+                .location(location)
+                .condition(condition)
+                .status(status)
+                .build();
+    }
+}
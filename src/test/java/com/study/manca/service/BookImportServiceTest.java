@@ -0,0 +1,147 @@
+package com.study.manca.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.manca.dto.BookImportResponse;
+import com.study.manca.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("BookImportService 테스트")
+class BookImportServiceTest {
+
+    private static final String HEADER = "bookCode,title,author,publisher,volume,genre\n";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final BookChangePublisher bookChangePublisher = mock(BookChangePublisher.class);
+
+    private BookImportService service;
+
+    @BeforeEach
+    void setUp() {
+        // 트랜잭션 없이 콜백만 실행
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new BookImportService(jdbcTemplate, transactionTemplate, bookChangePublisher, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("RETURNING 으로 돌려받은 행만 등록으로 세고, 나머지는 이미 있는 도서코드로 남긴다")
+    void reportsRowsSkippedByConflict() throws Exception {
+        // given - MH-001-002 는 이미 있어서 ON CONFLICT 로 건너뜀
+        returnInserted(List.of(Map.of("MH-001-001", 10L, "MH-001-003", 12L)));
+
+        // when
+        BookImportResponse response = service.importCsv(csv(
+                "MH-001-001,원피스,오다,집영사,1,액션",
+                "MH-001-002,원피스,오다,집영사,2,액션",
+                "MH-001-003,원피스,오다,집영사,3,액션"));
+
+        // then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getErrors().get(0).getLine()).isEqualTo(3);
+        assertThat(response.getErrors().get(0).getMessage()).isEqualTo("bookCode already exists");
+        ArgumentCaptor<Book> saved = ArgumentCaptor.forClass(Book.class);
+        verify(bookChangePublisher, times(2)).saved(saved.capture());
+        assertThat(saved.getAllValues()).extracting(Book::getId).containsExactly(10L, 12L);
+        assertThat(saved.getAllValues()).extracting(Book::getStatus).containsOnly(Book.BookStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("한 batch 가 실패하면 그 batch 의 행만 실패로 남기고 다음 batch 를 계속 넣는다")
+    void continuesAfterFailedBatch() throws Exception {
+        // given - 첫 batch(1000행)는 실패, 둘째 batch(1행)는 성공
+        String[] rows = new String[1001];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = "MH-%03d-001,제목,작가,출판사,1,액션".formatted(i);
+        }
+        willAnswer(invocation -> {
+            throw new QueryTimeoutException("timeout");
+        }).willAnswer(invocation -> {
+            emit(invocation.getArgument(2), Map.of("MH-1000-001", 2000L));
+            return null;
+        }).given(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        // when
+        BookImportResponse response = service.importCsv(csv(rows));
+
+        // then
+        assertThat(response.getTotal()).isEqualTo(1001);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1000);
+        assertThat(response.getErrors().get(0).getMessage()).startsWith("insert failed: ");
+        verify(bookChangePublisher, times(1)).saved(any());
+    }
+
+    @Test
+    @DisplayName("batch 의 행을 한 번의 INSERT 로 묶어 보낸다")
+    void insertsBatchInOneStatement() throws Exception {
+        // given
+        returnInserted(List.of(Map.of("MH-001-001", 10L, "MH-001-002", 11L)));
+
+        // when
+        service.importCsv(csv(
+                "MH-001-001,원피스,오다,집영사,1,액션",
+                "MH-001-002,원피스,오다,집영사,2,액션"));
+
+        // then
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), setter.capture(), any(RowCallbackHandler.class));
+        assertThat(sql.getValue()).endsWith("ON CONFLICT (book_code) DO NOTHING RETURNING id, book_code");
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps);
+        verify(ps).setString(1, "MH-001-001");
+        verify(ps).setString(13, "MH-001-002");
+    }
+
+    // 호출마다 돌려줄 RETURNING 결과 (도서코드 -> id)
+    private void returnInserted(List<Map<String, Long>> results) {
+        List<Map<String, Long>> remaining = new ArrayList<>(results);
+        willAnswer(invocation -> {
+            emit(invocation.getArgument(2), remaining.remove(0));
+            return null;
+        }).given(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+
+    private static void emit(RowCallbackHandler handler, Map<String, Long> rows) throws SQLException {
+        for (Map.Entry<String, Long> row : rows.entrySet()) {
+            ResultSet rs = mock(ResultSet.class);
+            given(rs.getString("book_code")).willReturn(row.getKey());
+            given(rs.getLong("id")).willReturn(row.getValue());
+            handler.processRow(rs);
+        }
+    }
+
+    private static ByteArrayInputStream csv(String... rows) {
+        return new ByteArrayInputStream((HEADER + String.join("\n", rows)).getBytes(StandardCharsets.UTF_8));
+    }
+}
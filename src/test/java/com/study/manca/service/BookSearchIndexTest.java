@@ -0,0 +1,128 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookSearchIndex 테스트")
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    // 기동 시 적재는 BookIndexLoader 몫이므로 index 로 바로 넣는다
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        index.index(book(1L, "원피스", 2, "오다 에이치로", "대원씨아이", "액션"));
+        index.index(book(2L, "원피스", 1, "오다 에이치로", "대원씨아이", "액션"));
+        index.index(book(3L, "나루토", 1, "키시모토 마사시", "대원씨아이", "액션"));
+        index.index(book(4L, "슬램덩크", 1, "이노우에 타케히코", "대원씨아이", "스포츠"));
+        index.index(book(5L, "Dragon Ball", 1, "Toriyama Akira", "서울문화사", "액션"));
+    }
+
+    @Test
+    @DisplayName("제목 일부로 찾고 제목, 권수 순으로 정렬한다")
+    void searchByTitle() {
+        // when & then
+        assertThat(index.search("원피", 10)).containsExactly(2L, 1L);
+        assertThat(index.search("덩크", 10)).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("일치하는 도서가 limit 보다 많으면 정렬 순서상 앞쪽 limit 건만 돌려준다")
+    void searchKeepsOnlyTopLimit() {
+        // when & then - 대원씨아이 도서는 나루토, 슬램덩크, 원피스 1권, 원피스 2권 순
+        assertThat(index.search("대원씨아이", 2)).containsExactly(3L, 4L);
+        assertThat(index.search("대원씨아이", 3)).containsExactly(3L, 4L, 2L);
+        assertThat(index.search("대원씨아이", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("한 글자 검색어는 unigram 으로 찾는다")
+    void searchSingleCharacter() {
+        // when & then
+        assertThat(index.search("토", 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("작가, 출판사, 장르로도 찾고 띄어쓰기와 대소문자는 무시한다")
+    void searchOtherFields() {
+        // when & then
+        assertThat(index.search("키시모토", 10)).containsExactly(3L);
+        assertThat(index.search("서울 문화사", 10)).containsExactly(5L);
+        assertThat(index.search("스포츠", 10)).containsExactly(4L);
+        assertThat(index.search("dragonBALL", 10)).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("bigram 이 모두 있어도 이어지지 않으면 찾지 않는다")
+    void bigramsMustBeContiguous() {
+        // given - "대원"(출판사) 과 "원피"(제목) 는 같은 도서에 있지만 "대원피" 는 없다
+        // when & then
+        assertThat(index.search("대원피", 10)).isEmpty();
+        assertThat(index.search("없는제목", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("초성만 입력하면 초성 문자열에서 찾는다")
+    void searchByChoseong() {
+        // when & then
+        assertThat(index.search("ㅇㅍㅅ", 10)).containsExactly(2L, 1L);
+        assertThat(index.search("ㄴㄹ", 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("limit 건까지만 반환한다")
+    void searchRespectsLimit() {
+        // when & then
+        assertThat(index.search("액션", 2)).containsExactly(5L, 3L);
+        assertThat(index.search(" ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정하면 이전 색인어로는 찾지 않고 새 색인어로 찾는다")
+    void reindexReplacesOldGrams() {
+        // when
+        index.onSaved(book(3L, "보루토", 1, "이케모토 미키오", "대원씨아이", "액션"));
+
+        // then
+        assertThat(index.search("나루토", 10)).isEmpty();
+        assertThat(index.search("보루토", 10)).containsExactly(3L);
+        assertThat(index.search("루토", 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("삭제하면 검색되지 않는다")
+    void removeDropsDocument() {
+        // when
+        index.onDeleted(1L);
+        index.onDeleted(99L);
+
+        // then
+        assertThat(index.search("원피스", 10)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("normalize - 소문자로 바꾸고 글자/숫자만 남긴다")
+    void normalize() {
+        // when & then
+        assertThat(BookSearchIndex.normalize(" One-Piece 1권! ")).isEqualTo("onepiece1권");
+        assertThat(BookSearchIndex.normalize(null)).isEmpty();
+        assertThat(BookSearchIndex.choseong("원피스a1")).isEqualTo("ㅇㅍㅅa1");
+    }
+
+    private static Book book(Long id, String title, int volume, String author, String publisher, String genre) {
+        return Book.builder()
+                .id(id)
+                .bookCode("MH-" + id)
+                .title(title)
+                .volume(volume)
+                .author(author)
+                .publisher(publisher)
+                .genre(genre)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.study.manca.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConcurrencyRetry 테스트")
+class ConcurrencyRetryTest {
+
+    @Test
+    @DisplayName("충돌 없이 성공하면 한 번만 실행한다")
+    void runsOnceOnSuccess() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        String result = ConcurrencyRetry.run(() -> {
+            attempts.incrementAndGet();
+            return "ok";
+        });
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("낙관적 락 충돌이나 락 대기 실패는 다시 시도해서 성공하면 그 결과를 돌려준다")
+    void retriesConcurrencyFailures() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        String result = ConcurrencyRetry.run(() -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt == 1) {
+                throw new OptimisticLockingFailureException("version changed");
+            }
+            if (attempt == 2) {
+                throw new CannotAcquireLockException("lock timeout");
+            }
+            return "ok";
+        });
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("MAX_ATTEMPTS 번 모두 충돌하면 마지막 예외를 던진다")
+    void givesUpAfterMaxAttempts() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when & then
+        assertThatThrownBy(() -> ConcurrencyRetry.run(() -> {
+            throw new OptimisticLockingFailureException("attempt " + attempts.incrementAndGet());
+        }))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessageContaining("attempt " + ConcurrencyRetry.MAX_ATTEMPTS);
+        assertThat(attempts.get()).isEqualTo(ConcurrencyRetry.MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("충돌이 아닌 실패는 다시 시도하지 않는다")
+    void doesNotRetryOtherFailures() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when & then
+        assertThatThrownBy(() -> ConcurrencyRetry.run(() -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate key");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> ConcurrencyRetry.run(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Book not found");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+}
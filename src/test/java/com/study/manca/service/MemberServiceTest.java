@@ -0,0 +1,71 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.MemberRequest;
+import com.study.manca.repository.MemberRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("MemberService 테스트")
+class MemberServiceTest {
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+
+    private MemberService memberService;
+
+    @BeforeEach
+    void setUp() {
+        memberService = new MemberService(memberRepository, mock(MemberEmailCache.class), mock(MemberLookupIndex.class));
+    }
+
+    @Test
+    @DisplayName("이메일 유니크 인덱스 위반은 중복 이메일 오류로 바꾼다")
+    void duplicateEmail() {
+        // given
+        given(memberRepository.saveAndFlush(any())).willThrow(violation("23505", "idx_members_email_lower"));
+
+        // when & then
+        assertThatThrownBy(() -> memberService.create(new MemberRequest("홍길동", "hong@example.com", "010-1234-5678")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email already exists: hong@example.com");
+    }
+
+    @Test
+    @DisplayName("다른 제약 위반은 그대로 던진다")
+    void otherConstraintIsRethrown() {
+        // given
+        given(memberRepository.saveAndFlush(any())).willThrow(violation("23502", "members_phone_not_null"));
+
+        // when & then
+        assertThatThrownBy(() -> memberService.create(new MemberRequest("홍길동", "hong@example.com", null)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("메시지에 인덱스 이름이 들어 있어도 제약 위반 정보가 없으면 중복 이메일로 보지 않는다")
+    void messageAloneIsNotEnough() {
+        // given
+        given(memberRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("idx_members_email_lower", new SQLException("idx_members_email_lower")));
+
+        // when & then
+        assertThatThrownBy(() -> memberService.create(new MemberRequest("홍길동", "hong@example.com", "010-1234-5678")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // Spring 이 Hibernate 예외를 번역한 모양 그대로
+    private static DataIntegrityViolationException violation(String sqlState, String constraintName) {
+        SQLException sqlException = new SQLException("constraint violated", sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+}
@@ -0,0 +1,164 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RentalEventJournal 테스트")
+class RentalEventJournalTest {
+
+    // 세그먼트 1MB = 21845 레코드
+    private static final int SEGMENT_RECORDS = 1024 * 1024 / RentalEventJournal.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    private RentalEventJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    @DisplayName("쓴 이벤트를 순서대로 그대로 읽는다")
+    void appendAndRead() throws IOException {
+        // given
+        journal = open();
+
+        // when
+        long first = journal.append(RentalEvent.Type.RENTED, 1L, 10L, 100L, null);
+        long second = journal.append(RentalEvent.Type.BOOK_STATUS, null, 10L, null, Book.BookStatus.RESERVED);
+        long third = journal.append(RentalEvent.Type.RETURNED, 1L, 10L, 100L, null);
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(third).isEqualTo(3);
+        assertThat(journal.lastSequence()).isEqualTo(3);
+
+        List<RentalEvent> events = journal.read(1, 10);
+        assertThat(events).extracting(RentalEvent::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(events).extracting(RentalEvent::type)
+                .containsExactly(RentalEvent.Type.RENTED, RentalEvent.Type.BOOK_STATUS, RentalEvent.Type.RETURNED);
+
+        RentalEvent status = events.get(1);
+        assertThat(status.sequence()).isEqualTo(second);
+        assertThat(status.rentalId()).isNull();
+        assertThat(status.bookId()).isEqualTo(10L);
+        assertThat(status.memberId()).isNull();
+        assertThat(status.bookStatus()).isEqualTo(Book.BookStatus.RESERVED);
+        assertThat(events.get(0).memberId()).isEqualTo(100L);
+        assertThat(events.get(0).bookStatus()).isNull();
+    }
+
+    @Test
+    @DisplayName("fromSequence 와 limit 으로 범위를 잘라 읽는다")
+    void readRange() throws IOException {
+        // given
+        journal = open();
+        for (long i = 1; i <= 10; i++) {
+            journal.append(RentalEvent.Type.RENTED, i, i, i, null);
+        }
+
+        // when & then
+        assertThat(journal.read(4, 3)).extracting(RentalEvent::sequence).containsExactly(4L, 5L, 6L);
+        assertThat(journal.read(9, 10)).extracting(RentalEvent::sequence).containsExactly(9L, 10L);
+        assertThat(journal.read(11, 10)).isEmpty();
+        assertThat(journal.read(0, 1)).extracting(RentalEvent::sequence).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("세그먼트가 차면 새 파일로 넘어가고 세그먼트를 건너 이어 읽는다")
+    void rollsSegments() throws IOException {
+        // given
+        journal = open();
+
+        // when
+        for (long i = 1; i <= SEGMENT_RECORDS + 5; i++) {
+            journal.append(RentalEvent.Type.RENTED, i, i, i, null);
+        }
+
+        // then
+        assertThat(segmentNames()).containsExactly(
+                "rental-events-00000000000000000001.log",
+                String.format("rental-events-%020d.log", SEGMENT_RECORDS + 1));
+        List<RentalEvent> events = journal.read(SEGMENT_RECORDS - 1, 10);
+        assertThat(events).extracting(RentalEvent::sequence).containsExactly(
+                (long) SEGMENT_RECORDS - 1, (long) SEGMENT_RECORDS, SEGMENT_RECORDS + 1L,
+                SEGMENT_RECORDS + 2L, SEGMENT_RECORDS + 3L, SEGMENT_RECORDS + 4L, SEGMENT_RECORDS + 5L);
+        assertThat(events.get(2).rentalId()).isEqualTo(SEGMENT_RECORDS + 1L);
+        assertThat(journal.read(SEGMENT_RECORDS + 3L, 10)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("다시 열면 마지막 sequence 다음부터 이어 쓴다")
+    void reopenContinuesSequence() throws IOException {
+        // given
+        journal = open();
+        journal.append(RentalEvent.Type.RENTED, 1L, 10L, 100L, null);
+        journal.append(RentalEvent.Type.RETURNED, 1L, 10L, 100L, null);
+        journal.close();
+
+        // when
+        journal = open();
+        long sequence = journal.append(RentalEvent.Type.RENTED, 2L, 11L, 100L, null);
+
+        // then
+        assertThat(sequence).isEqualTo(3);
+        assertThat(journal.read(1, 10)).extracting(RentalEvent::rentalId).containsExactly(1L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("다시 열 때 중간에 끊긴 레코드와 그 뒤를 버리고 그 자리부터 쓴다")
+    void reopenDropsTornRecord() throws IOException {
+        // given - 3번 레코드는 CRC 가 맞지 않고 4번 자리에는 쓰레기가 남아 있다
+        journal = open();
+        for (long i = 1; i <= 3; i++) {
+            journal.append(RentalEvent.Type.RENTED, i, i, i, null);
+        }
+        journal.close();
+        Path segment = directory.resolve("rental-events-00000000000000000001.log");
+        try (FileChannel out = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            out.write(ByteBuffer.allocate(8).putLong(0, 999L), 2L * RentalEventJournal.RECORD_SIZE + 16);
+            out.write(ByteBuffer.allocate(8).putLong(0, 4L), 3L * RentalEventJournal.RECORD_SIZE);
+        }
+
+        // when
+        journal = open();
+
+        // then
+        assertThat(journal.lastSequence()).isEqualTo(2);
+        assertThat(journal.read(1, 10)).extracting(RentalEvent::sequence).containsExactly(1L, 2L);
+
+        long sequence = journal.append(RentalEvent.Type.RETURNED, 7L, 7L, 7L, null);
+        assertThat(sequence).isEqualTo(3);
+        assertThat(journal.read(3, 10)).extracting(RentalEvent::rentalId).containsExactly(7L);
+    }
+
+    private RentalEventJournal open() throws IOException {
+        RentalEventJournal opened = new RentalEventJournal(directory.toString(), 1);
+        opened.open();
+        return opened;
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.study.manca.service;
+
+import com.study.manca.entity.Book;
+import com.study.manca.entity.Reservation;
+import com.study.manca.repository.BookRepository;
+import com.study.manca.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("ReservationService 테스트")
+class ReservationServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private MemberService memberService;
+    @Mock
+    private ObjectProvider<BookChangePublisher> bookChangePublisherProvider;
+    @Mock
+    private BookChangePublisher bookChangePublisher;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AutoCloseable mocks;
+    private ReservationService service;
+
+    // 1번 도서는 대기자 없음, 2번 도서는 대기자 1명
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        given(bookChangePublisherProvider.getObject()).willReturn(bookChangePublisher);
+        given(reservationRepository.findQueued(Reservation.ReservationStatus.WAITING))
+                .willReturn(List.<Object[]>of(new Object[]{20L, 2L, 200L}));
+        service = new ReservationService(reservationRepository, bookRepository, memberService,
+                bookChangePublisherProvider, eventPublisher, transactionManager, 30);
+        service.load();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    @DisplayName("만료된 보관이 없으면 대기열이 있어도 도서를 다시 확인하지 않는다")
+    void sweepWithoutExpiredOffers() {
+        // given
+        given(reservationRepository.findExpiredOffers(any())).willReturn(List.of());
+
+        // when
+        service.sweep();
+
+        // then - 트랜잭션은 만료 확인 한 번뿐
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(bookRepository, never()).findStatusForUpdate(anyLong());
+    }
+
+    @Test
+    @DisplayName("보관 기한이 지나면 그 도서만 풀어 주고 다른 도서의 대기열은 건드리지 않는다")
+    void sweepReleasesOnlyExpiredBooks() {
+        // given - 1번 도서를 보관하던 예약 10 이 만료
+        given(reservationRepository.findExpiredOffers(any())).willReturn(List.<Object[]>of(new Object[]{10L, 1L}));
+        given(bookRepository.updateStatusIfMatches(any(), eq(Book.BookStatus.RESERVED), eq(Book.BookStatus.AVAILABLE), any()))
+                .willReturn(List.of(1L));
+
+        // when
+        service.sweep();
+
+        // then
+        verify(reservationRepository).updateStatusIfMatches(eq(List.of(10L)),
+                eq(Reservation.ReservationStatus.OFFERED), eq(Reservation.ReservationStatus.EXPIRED), any());
+        verify(bookChangePublisher).statusChanged(List.of(1L), Book.BookStatus.AVAILABLE);
+        verify(reservationRepository, never()).offer(eq(20L), any(), any());
+        verify(bookRepository, never()).findStatusForUpdate(2L);
+    }
+
+    @Test
+    @DisplayName("풀어 준 도서에 대기자가 있으면 같은 트랜잭션에서 다음 사람에게 넘긴다")
+    void sweepHoldsForNextInQueue() {
+        // given - 2번 도서를 보관하던 예약 10 이 만료, 다음 대기자는 예약 20
+        given(reservationRepository.findExpiredOffers(any())).willReturn(List.<Object[]>of(new Object[]{10L, 2L}));
+        given(bookRepository.updateStatusIfMatches(any(), eq(Book.BookStatus.RESERVED), eq(Book.BookStatus.AVAILABLE), any()))
+                .willReturn(List.of(2L));
+        given(reservationRepository.offer(eq(20L), any(), any())).willReturn(1);
+        given(bookRepository.updateStatusIfMatches(any(), eq(Book.BookStatus.AVAILABLE), eq(Book.BookStatus.RESERVED), any()))
+                .willReturn(List.of(2L));
+
+        // when
+        service.sweep();
+
+        // then - 넘긴 뒤 대기열이 비었으므로 다시 확인하지 않는다
+        verify(bookChangePublisher).statusChanged(Set.of(2L), Book.BookStatus.RESERVED);
+        verify(bookChangePublisher, never()).statusChanged(List.of(2L), Book.BookStatus.AVAILABLE);
+        verify(bookRepository, never()).findStatusForUpdate(anyLong());
+    }
+
+    @Test
+    @DisplayName("보관중인 도서를 다른 상태로 바꾸면 보관하던 예약을 취소한다")
+    void withdrawCancelsOffer() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+
+        // when
+        service.withdraw(2L, now);
+
+        // then
+        verify(reservationRepository).cancelOffers(2L, now);
+    }
+}
@@ -0,0 +1,344 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.SeatResponse;
+import com.study.manca.entity.Seat;
+import com.study.manca.repository.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("SeatOccupancy 테스트")
+class SeatOccupancyTest {
+
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StatusEventHub statusEventHub = mock(StatusEventHub.class);
+
+    @Captor
+    private ArgumentCaptor<Collection<Integer>> slots;
+
+    private AutoCloseable captors;
+    private SeatOccupancy occupancy;
+
+    @BeforeEach
+    void setUp() {
+        captors = MockitoAnnotations.openMocks(this);
+        given(seatRepository.findAllResponses()).willReturn(List.of(
+                new SeatResponse(1L, "A-01", Seat.SeatType.REGULAR, Seat.SeatStatus.AVAILABLE, null),
+                new SeatResponse(2L, "A-02", Seat.SeatType.REGULAR, Seat.SeatStatus.AVAILABLE, null),
+                new SeatResponse(3L, "B-01", Seat.SeatType.PREMIUM, Seat.SeatStatus.OCCUPIED, 300L),
+                new SeatResponse(4L, "R-01", Seat.SeatType.ROOM, Seat.SeatStatus.MAINTENANCE, null)));
+        occupancy = new SeatOccupancy(seatRepository, jdbcTemplate, statusEventHub);
+        occupancy.load();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        captors.close();
+    }
+
+    @Test
+    @DisplayName("같은 좌석에 동시에 배정하면 한 명만 성공한다")
+    void concurrentAssignSameSeat() throws Exception {
+        // given
+        int threads = 16;
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (long memberId = 100; memberId < 100 + threads; memberId++) {
+            long member = memberId;
+            tasks.add(() -> {
+                try {
+                    occupancy.assign(1L, member);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            });
+        }
+
+        // when
+        List<Boolean> results = runTogether(tasks);
+
+        // then
+        assertThat(results.stream().filter(Boolean::booleanValue).count()).isEqualTo(1);
+        SeatResponse seat = occupancy.snapshot().get(0);
+        assertThat(seat.getStatus()).isEqualTo("OCCUPIED");
+        assertThat(occupancy.findByMember(seat.getCurrentMemberId())).isNotNull();
+        // 좌석을 못 잡은 회원은 회원 칸도 돌려놓는다
+        long holders = 0;
+        for (long memberId = 100; memberId < 100 + threads; memberId++) {
+            if (occupancy.findByMember(memberId) != null) {
+                holders++;
+            }
+        }
+        assertThat(holders).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 회원이 여러 좌석에 동시에 배정해도 한 좌석만 잡는다")
+    void concurrentAssignSameMember() throws Exception {
+        // given
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (long seatId : new long[]{1L, 2L}) {
+            tasks.add(() -> {
+                try {
+                    occupancy.assign(seatId, 100L);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            });
+        }
+
+        // when
+        List<Boolean> results = runTogether(tasks);
+
+        // then
+        assertThat(results.stream().filter(Boolean::booleanValue).count()).isEqualTo(1);
+        long occupied = occupancy.snapshot().stream().filter(seat -> "OCCUPIED".equals(seat.getStatus())).count();
+        assertThat(occupied).isEqualTo(2);  // 3번 좌석은 처음부터 사용중
+    }
+
+    @Test
+    @DisplayName("좌석을 쓰는 회원은 다른 좌석에 배정할 수 없고, 해제하면 다시 배정할 수 있다")
+    void oneSeatPerMember() {
+        // given
+        occupancy.assign(1L, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> occupancy.assign(2L, 100L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Member already has a seat: 1");
+        assertThatThrownBy(() -> occupancy.assign(2L, 300L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Member already has a seat: 3");
+
+        occupancy.release(1L);
+        SeatResponse seat = occupancy.assign(2L, 100L);
+        assertThat(seat.getId()).isEqualTo(2L);
+        assertThat(occupancy.findByMember(100L).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("사용가능이 아닌 좌석은 배정, 사용중이 아닌 좌석은 해제할 수 없다")
+    void rejectsInvalidTransitions() {
+        // when & then
+        assertThatThrownBy(() -> occupancy.assign(4L, 100L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Seat is not available: 4");
+        assertThatThrownBy(() -> occupancy.release(2L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Seat is not occupied: 2");
+        assertThatThrownBy(() -> occupancy.assign(99L, 100L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Seat not found with id: 99");
+        // 실패한 배정은 회원 칸을 남기지 않는다
+        assertThat(occupancy.findByMember(100L)).isNull();
+    }
+
+    @Test
+    @DisplayName("CAS 로 바꾼 상태를 바뀐 순서대로 알린다")
+    void publishesCasStates() {
+        // when
+        occupancy.assign(1L, 100L);
+        occupancy.release(1L);
+        occupancy.assign(1L, 200L);
+
+        // then
+        ArgumentCaptor<StatusEventHub.Change> changes = ArgumentCaptor.forClass(StatusEventHub.Change.class);
+        verify(statusEventHub, times(3)).publish(eq(StatusEvent.Type.SEAT), changes.capture());
+        assertThat(changes.getAllValues()).containsExactly(
+                new StatusEventHub.Change(1L, "OCCUPIED", 100L, 1L),
+                new StatusEventHub.Change(1L, "AVAILABLE", null, 1L),
+                new StatusEventHub.Change(1L, "OCCUPIED", 200L, 1L));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 좌석을 바꿔도 알림은 빠짐없이 바뀐 순서대로 나간다")
+    void concurrentChangesPublishInVersionOrder() throws Exception {
+        // given - 회원마다 배정/해제를 반복
+        int threads = 8;
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (long memberId = 100; memberId < 100 + threads; memberId++) {
+            long member = memberId;
+            tasks.add(() -> {
+                int succeeded = 0;
+                for (int i = 0; i < 200; i++) {
+                    try {
+                        occupancy.assign(1L, member);
+                        succeeded++;
+                        occupancy.release(1L);
+                        succeeded++;
+                    } catch (IllegalArgumentException e) {
+                        // 다른 회원이 먼저 잡았거나 먼저 해제함
+                    }
+                }
+                return succeeded;
+            });
+        }
+
+        // when
+        int succeeded = runTogether(tasks).stream().mapToInt(Integer::intValue).sum();
+
+        // then - 사용중/사용가능이 번갈아 나오고 성공한 변경 수만큼 알린다
+        ArgumentCaptor<StatusEventHub.Change> changes = ArgumentCaptor.forClass(StatusEventHub.Change.class);
+        verify(statusEventHub, times(succeeded)).publish(eq(StatusEvent.Type.SEAT), changes.capture());
+        List<StatusEventHub.Change> published = changes.getAllValues();
+        for (int i = 0; i < published.size(); i++) {
+            assertThat(published.get(i).status()).isEqualTo(i % 2 == 0 ? "OCCUPIED" : "AVAILABLE");
+        }
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 직전 좌석 목록을 그대로 돌려준다")
+    void snapshotIsCachedUntilChanged() {
+        // given
+        List<SeatResponse> first = occupancy.snapshot();
+
+        // when & then
+        assertThat(occupancy.snapshot()).isSameAs(first);
+        occupancy.assign(2L, 100L);
+        List<SeatResponse> changed = occupancy.snapshot();
+        assertThat(changed).isNotSameAs(first);
+        assertThat(changed.get(1).getCurrentMemberId()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("flush 는 바뀐 좌석만 batch 로 한 번 내려쓴다")
+    void flushWritesDirtySeatsOnce() {
+        // given
+        occupancy.assign(1L, 100L);
+        occupancy.release(1L);
+        occupancy.assign(2L, 200L);
+
+        // when
+        occupancy.flush();
+        occupancy.flush();
+
+        // then - 1번 좌석은 두 번 바뀌었지만 한 번만 쓴다
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), slots.capture(), eq(2), any());
+        assertThat(slots.getValue()).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("batch 가 실패하면 한 건씩 다시 쓰고 잘못된 행만 버린다")
+    void flushDropsOnlyBadRows() {
+        // given
+        given(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .willThrow(new DataIntegrityViolationException("batch"));
+        List<Long> written = new ArrayList<>();
+        given(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).willAnswer(invocation -> {
+            long seatId = boundSeatId(invocation.getArgument(1));
+            if (seatId == 1L) {
+                throw new DataIntegrityViolationException("fk_seats_member");
+            }
+            written.add(seatId);
+            return 1;
+        });
+        occupancy.assign(1L, 100L);
+        occupancy.assign(2L, 200L);
+
+        // when
+        occupancy.flush();
+        occupancy.flush();
+
+        // then - 1번 좌석은 버리고 다시 시도하지 않는다
+        assertThat(written).containsExactly(2L);
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("연결 문제로 실패하면 남은 좌석을 다음 flush 에서 다시 쓴다")
+    void flushRetriesAfterTransientFailure() {
+        // given
+        given(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .willThrow(new QueryTimeoutException("batch"))
+                .willReturn(new int[][]{{1, 1}});
+        given(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .willThrow(new QueryTimeoutException("row"));
+        occupancy.assign(1L, 100L);
+        occupancy.assign(2L, 200L);
+
+        // when
+        occupancy.flush();
+        occupancy.flush();
+
+        // then
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), slots.capture(), anyInt(), any());
+        assertThat(slots.getAllValues().get(1)).containsExactlyInAnyOrder(0, 1);
+        verify(jdbcTemplate, times(1)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("바뀐 좌석이 없으면 DB 에 쓰지 않는다")
+    void flushWithoutChanges() {
+        // when
+        occupancy.flush();
+
+        // then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    // 작업들을 동시에 출발시키고 결과를 모은다
+    private static <T> List<T> runTogether(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // PreparedStatementSetter 가 묶은 좌석 id (UPDATE ... WHERE id = ?)
+    private static long boundSeatId(PreparedStatementSetter setter) throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.setValues(ps);
+        ArgumentCaptor<Long> seatId = ArgumentCaptor.forClass(Long.class);
+        verify(ps).setLong(eq(4), seatId.capture());
+        return seatId.getValue();
+    }
+}
@@ -0,0 +1,89 @@
+package com.study.manca.service;
+
+import com.study.manca.dto.SeriesAvailabilityResponse;
+import com.study.manca.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SeriesAvailabilityIndex 테스트")
+class SeriesAvailabilityIndexTest {
+
+    private SeriesAvailabilityIndex index;
+
+    // 기동 시 적재는 BookIndexLoader 몫이므로 onSaved 로 바로 넣는다
+    @BeforeEach
+    void setUp() {
+        index = new SeriesAvailabilityIndex();
+        index.onSaved(book(1L, "MH-001-001", 1, Book.BookStatus.AVAILABLE));
+        index.onSaved(book(2L, "MH-001-002", 2, Book.BookStatus.RENTED));
+        index.onSaved(book(3L, "MH-001-003", 3, Book.BookStatus.AVAILABLE));
+        index.onSaved(book(4L, "MH-001-003B", 3, Book.BookStatus.AVAILABLE));
+    }
+
+    @Test
+    @DisplayName("시리즈 키나 제목으로 권별 대여 가능 현황을 조회한다")
+    void findBySeriesKeyOrTitle() {
+        // when
+        SeriesAvailabilityResponse byKey = index.find("MH-001").orElseThrow();
+        SeriesAvailabilityResponse byTitle = index.find("원피스").orElseThrow();
+
+        // then
+        assertThat(byKey.getVolumeCount()).isEqualTo(3);
+        assertThat(byKey.getAvailableCount()).isEqualTo(2);
+        assertThat(byKey.getAvailableVolumes()).containsExactly(1, 3);
+        assertThat(byTitle.getSeriesKey()).isEqualTo("MH-001");
+    }
+
+    @Test
+    @DisplayName("같은 권의 마지막 대여가능 부수가 빠질 때만 대여 가능 권에서 빠진다")
+    void statusChangeUpdatesAvailableVolumes() {
+        // when
+        index.onStatusChanged(List.of(3L), Book.BookStatus.RENTED);
+        SeriesAvailabilityResponse oneLeft = index.find("MH-001").orElseThrow();
+        index.onStatusChanged(List.of(4L, 1L), Book.BookStatus.LOST);
+        SeriesAvailabilityResponse noneLeft = index.find("MH-001").orElseThrow();
+
+        // then
+        assertThat(oneLeft.getAvailableVolumes()).containsExactly(1, 3);
+        assertThat(noneLeft.getAvailableVolumes()).isEmpty();
+        assertThat(noneLeft.getVolumeCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("권 번호가 아주 커도 보유한 권만큼만 자리를 차지한다")
+    void largeVolumeIsStoredSparsely() {
+        // when
+        index.onSaved(book(5L, "MH-001-999", Integer.MAX_VALUE, Book.BookStatus.AVAILABLE));
+
+        // then
+        SeriesAvailabilityResponse series = index.find("MH-001").orElseThrow();
+        assertThat(series.getVolumeCount()).isEqualTo(4);
+        assertThat(series.getAvailableVolumes()).containsExactly(1, 3, Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("마지막 도서가 삭제되면 시리즈도 사라진다")
+    void deletingLastCopyRemovesSeries() {
+        // when
+        List.of(1L, 2L, 3L, 4L).forEach(index::onDeleted);
+
+        // then
+        assertThat(index.find("MH-001").isPresent()).isFalse();
+        assertThat(index.find("원피스").isPresent()).isFalse();
+    }
+
+    private static Book book(Long id, String bookCode, int volume, Book.BookStatus status) {
+        return Book.builder()
+                .id(id)
+                .bookCode(bookCode)
+                .title("원피스")
+                .volume(volume)
+                .status(status)
+                .build();
+    }
+}
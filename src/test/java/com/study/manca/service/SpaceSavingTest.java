@@ -0,0 +1,114 @@
+package com.study.manca.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SpaceSaving 테스트")
+class SpaceSavingTest {
+
+    @Test
+    @DisplayName("키 수가 capacity 이하면 정확한 빈도를 센다")
+    void exactWhenKeysFit() {
+        // given
+        SpaceSaving<String> summary = new SpaceSaving<>(4);
+
+        // when
+        summary.add("원피스", 3);
+        summary.add("나루토", 1);
+        summary.add("원피스", 2);
+        summary.add("블리치", 4);
+
+        // then
+        Map<String, long[]> counts = collect(summary);
+        assertThat(counts).hasSize(3);
+        assertThat(counts.get("원피스")).containsExactly(5, 0);
+        assertThat(counts.get("나루토")).containsExactly(1, 0);
+        assertThat(counts.get("블리치")).containsExactly(4, 0);
+        assertThat(summary.missingBound()).isZero();
+    }
+
+    @Test
+    @DisplayName("정확한 빈도와 비교 - 실제 빈도는 [count - error, count] 안에 있고 자주 나온 키는 빠지지 않는다")
+    void boundsAgainstExactCounts() {
+        // given - 1000 개 키, 앞쪽 키일수록 자주 나오는 치우친 분포
+        int capacity = 50;
+        int total = 100_000;
+        SpaceSaving<Integer> summary = new SpaceSaving<>(capacity);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+
+        // when
+        for (int i = 0; i < total; i++) {
+            int key = skewed(random, 1000);
+            summary.add(key, 1);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        // then
+        Map<Integer, long[]> counts = collect(summary);
+        assertThat(counts).hasSize(capacity);
+        counts.forEach((key, countAndError) -> {
+            long actual = exact.getOrDefault(key, 0L);
+            assertThat(actual).isBetween(countAndError[0] - countAndError[1], countAndError[0]);
+        });
+        exact.forEach((key, actual) -> {
+            if (actual > total / capacity) {
+                assertThat(counts).containsKey(key);
+            }
+        });
+        assertThat(top(counts, 5)).isEqualTo(exactTop(exact, 5));
+    }
+
+    @Test
+    @DisplayName("clear 후에는 비어 있다")
+    void clear() {
+        // given
+        SpaceSaving<String> summary = new SpaceSaving<>(2);
+        summary.add("원피스", 1);
+        summary.add("나루토", 1);
+        summary.add("블리치", 1);
+
+        // when
+        summary.clear();
+
+        // then
+        assertThat(collect(summary)).isEmpty();
+        assertThat(summary.contains("원피스")).isFalse();
+        assertThat(summary.missingBound()).isZero();
+    }
+
+    // 1..n 중 앞쪽이 자주 나오는 분포 (대략 1/k)
+    static int skewed(Random random, int n) {
+        return (int) Math.floor(Math.pow(n + 1, random.nextDouble()));
+    }
+
+    private static <K> Map<K, long[]> collect(SpaceSaving<K> summary) {
+        Map<K, long[]> counts = new HashMap<>();
+        summary.forEach(counts::put);
+        return counts;
+    }
+
+    private static List<Integer> top(Map<Integer, long[]> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Integer, long[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static List<Integer> exactTop(Map<Integer, Long> exact, int limit) {
+        return exact.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.study.manca.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WindowedTopK 테스트")
+class WindowedTopKTest {
+
+    private static final Instant START = Instant.parse("2026-10-01T00:00:00Z");
+
+    @Test
+    @DisplayName("꽉 찬 칸에서 밀려난 키도 실제 빈도가 [count - error, count] 안에 있다")
+    void evictedKeyStaysWithinBounds() {
+        // given - 1칸: 원피스 1 -> 나루토 5 -> 블리치 5 (원피스가 밀려남), 2칸: 원피스 3
+        WindowedTopK<String> topK = new WindowedTopK<>(Duration.ofMinutes(1), 5, 2);
+        topK.add("원피스", 1, START);
+        topK.add("나루토", 5, START);
+        topK.add("블리치", 5, START);
+        topK.add("원피스", 3, START.plusSeconds(60));
+
+        // when
+        List<WindowedTopK.Entry<String>> top = topK.top(10, START.plusSeconds(60));
+
+        // then - 실제 원피스 빈도 4
+        WindowedTopK.Entry<String> entry = top.stream().filter(e -> e.key().equals("원피스")).findFirst().orElseThrow();
+        assertThat(4L).isBetween(entry.count() - entry.error(), entry.count());
+    }
+
+    @Test
+    @DisplayName("정확한 빈도와 비교 - 창 안의 모든 결과가 실제 빈도를 감싼다")
+    void boundsAgainstExactCounts() {
+        // given - 10분 창을 1분 칸으로, 칸마다 카운터 30개
+        WindowedTopK<Integer> topK = new WindowedTopK<>(Duration.ofMinutes(1), 10, 30);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        Instant now = START.plus(Duration.ofMinutes(15));
+
+        // when - 15분 동안 매 초 20건, 마지막 10분만 창에 들어간다
+        for (int second = 0; second < 15 * 60; second++) {
+            Instant at = START.plusSeconds(second);
+            for (int i = 0; i < 20; i++) {
+                int key = SpaceSavingTest.skewed(random, 500);
+                topK.add(key, 1, at);
+                if (!at.isBefore(START.plus(Duration.ofMinutes(6)))) {
+                    exact.merge(key, 1L, Long::sum);
+                }
+            }
+        }
+
+        // then
+        List<WindowedTopK.Entry<Integer>> top = topK.top(20, now);
+        assertThat(top).hasSize(20);
+        for (WindowedTopK.Entry<Integer> entry : top) {
+            long actual = exact.getOrDefault(entry.key(), 0L);
+            assertThat(actual).isBetween(entry.count() - entry.error(), entry.count());
+        }
+        // 가장 많이 나온 키는 순위에서 빠지지 않는다
+        Integer most = exact.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+        assertThat(top).extracting(WindowedTopK.Entry::key).contains(most);
+    }
+
+    @Test
+    @DisplayName("창에서 벗어난 칸은 합치지 않는다")
+    void expiredBucketsExcluded() {
+        // given
+        WindowedTopK<String> topK = new WindowedTopK<>(Duration.ofMinutes(1), 5, 10);
+        topK.add("원피스", 10, START);
+        topK.add("나루토", 1, START.plus(Duration.ofMinutes(4)));
+
+        // when
+        List<WindowedTopK.Entry<String>> top = topK.top(10, START.plus(Duration.ofMinutes(5)));
+
+        // then
+        assertThat(top).extracting(WindowedTopK.Entry::key).containsExactly("나루토");
+        assertThat(top.get(0).count()).isEqualTo(1);
+    }
+}